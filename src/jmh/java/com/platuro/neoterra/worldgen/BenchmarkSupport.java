@@ -0,0 +1,51 @@
+package com.platuro.neoterra.worldgen;
+
+import com.platuro.neoterra.config.BiomeConfig;
+import net.minecraft.init.Bootstrap;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+/**
+ * Shared setup for the worldgen benchmarks: vanilla bootstrap, a default
+ * biome_config.cfg and fixed coordinate sets so runs stay comparable between releases.
+ */
+final class BenchmarkSupport {
+
+    /** Seeds every benchmark runs against. */
+    static final String SEED_A = "12345";
+    static final String SEED_B = "-4872364921437";
+
+    /** Half the default planet width, so samples cover land, ocean and the polar bands. */
+    static final int PLANET_RADIUS = 10000;
+
+    private static boolean initialised;
+
+    private BenchmarkSupport() {}
+
+    static synchronized void init() {
+        if (initialised) return;
+        Bootstrap.register();
+        try {
+            File configDir = Files.createTempDirectory("neoterra-bench").toFile();
+            BiomeConfig.loadConfig(new File(configDir, "biome_config.cfg"));
+            // Measure the noise, not files left behind by an earlier fork
+            BiomeConfig.PERSISTENT_CACHE = false;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create benchmark config", e);
+        }
+        initialised = true;
+    }
+
+    /** {@code count} (x, z) pairs, flattened, drawn uniformly from the square of the given radius. */
+    static int[] coordinates(long seed, int count, int radius) {
+        Random random = new Random(seed);
+        int[] coords = new int[count * 2];
+        for (int i = 0; i < coords.length; i++) {
+            coords[i] = random.nextInt(radius * 2) - radius;
+        }
+        return coords;
+    }
+}
@@ -0,0 +1,81 @@
+package com.platuro.neoterra.worldgen;
+
+import com.platuro.neoterra.config.BiomeConfig;
+import net.minecraft.world.biome.Biome;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Biome classification throughput. pickBiome is measured per sample; the area
+ * queries are measured per call. getBiomesForGeneration gets a fresh provider
+ * per invocation so it measures cold cache fills, not cache hits.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BiomeProviderBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    @Param({BenchmarkSupport.SEED_A, BenchmarkSupport.SEED_B})
+    public long seed;
+
+    @Param({"16", "64"})
+    public int size;
+
+    private EarthlikeBiomeProvider provider;
+    private EarthlikeBiomeProvider coldProvider;
+    private int[] coords;
+    private Biome[] buffer;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSupport.init();
+        provider = new EarthlikeBiomeProvider(seed, BiomeConfig.getWorldGenSettings());
+        coords = BenchmarkSupport.coordinates(seed, SAMPLES, BenchmarkSupport.PLANET_RADIUS);
+        buffer = new Biome[size * size];
+    }
+
+    @Setup(Level.Invocation)
+    public void freshProvider() {
+        coldProvider = new EarthlikeBiomeProvider(seed, BiomeConfig.getWorldGenSettings());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void pickBiome(Blackhole blackhole) {
+        for (int i = 0; i < coords.length; i += 2) {
+            blackhole.consume(provider.pickBiome(coords[i], coords[i + 1]));
+        }
+    }
+
+    @Benchmark
+    public Biome[] getBiomes() {
+        int i = nextOrigin();
+        return provider.getBiomes(buffer, coords[i], coords[i + 1], size, size, false);
+    }
+
+    @Benchmark
+    public Biome[] getBiomesForGeneration() {
+        int i = nextOrigin();
+        return coldProvider.getBiomesForGeneration(buffer, coords[i] >> 2, coords[i + 1] >> 2, size, size);
+    }
+
+    private int nextOrigin() {
+        int i = cursor;
+        cursor = (cursor + 2) % coords.length;
+        return i;
+    }
+}
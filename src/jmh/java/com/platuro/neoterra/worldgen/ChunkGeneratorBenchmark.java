@@ -0,0 +1,47 @@
+package com.platuro.neoterra.worldgen;
+
+import net.minecraft.world.chunk.Chunk;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full chunk generation against a {@link StubWorld}. Chunks rotate through a fixed
+ * set spread across the planet, so biome caches see a realistic mix of hits and misses.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ChunkGeneratorBenchmark {
+
+    private static final int CHUNKS = 4096;
+
+    @Param({BenchmarkSupport.SEED_A, BenchmarkSupport.SEED_B})
+    public long seed;
+
+    private NeoTerraChunkGenerator generator;
+    private int[] chunkCoords;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSupport.init();
+        generator = new NeoTerraChunkGenerator(new StubWorld(seed));
+        chunkCoords = BenchmarkSupport.coordinates(seed, CHUNKS, BenchmarkSupport.PLANET_RADIUS >> 4);
+    }
+
+    @Benchmark
+    public Chunk generateChunk() {
+        int i = cursor;
+        cursor = (cursor + 2) % chunkCoords.length;
+        return generator.generateChunk(chunkCoords[i], chunkCoords[i + 1]);
+    }
+}
@@ -0,0 +1,64 @@
+package com.platuro.neoterra.worldgen;
+
+import net.minecraft.world.chunk.ChunkPrimer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Block placement alone: terrain data is computed up front, each operation fills a
+ * fresh primer either through the bulk column filler or one setBlockState per block.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ColumnFillerBenchmark {
+
+    private static final int CHUNKS = 256;
+
+    @Param({BenchmarkSupport.SEED_A, BenchmarkSupport.SEED_B})
+    public long seed;
+
+    private NeoTerraChunkGenerator generator;
+    private ChunkTerrainData[] terrain;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSupport.init();
+        generator = new NeoTerraChunkGenerator(new StubWorld(seed));
+        int[] chunkCoords = BenchmarkSupport.coordinates(seed, CHUNKS, BenchmarkSupport.PLANET_RADIUS >> 4);
+        terrain = new ChunkTerrainData[CHUNKS];
+        for (int i = 0; i < CHUNKS; i++) {
+            terrain[i] = generator.generateTerrainData(chunkCoords[2 * i], chunkCoords[2 * i + 1]);
+        }
+    }
+
+    @Benchmark
+    public ChunkPrimer bulk() {
+        ChunkPrimer primer = new ChunkPrimer();
+        generator.fillPrimer(primer, next());
+        return primer;
+    }
+
+    @Benchmark
+    public ChunkPrimer perBlock() {
+        ChunkPrimer primer = new ChunkPrimer();
+        generator.fillPrimerPerBlock(primer, next());
+        return primer;
+    }
+
+    private ChunkTerrainData next() {
+        ChunkTerrainData data = terrain[cursor];
+        cursor = (cursor + 1) % CHUNKS;
+        return data;
+    }
+}
@@ -0,0 +1,64 @@
+package com.platuro.neoterra.worldgen;
+
+import com.platuro.neoterra.worldgen.noise.FractalNoise;
+import com.platuro.neoterra.worldgen.noise.SimplexNoise;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fractal noise samples per second, by octave count, at the continent-noise scale:
+ * scattered single points and a 32x32 grid at block resolution.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FractalNoiseBenchmark {
+
+    private static final int SAMPLES = 1024;
+    private static final int GRID = 32;
+
+    @Param({BenchmarkSupport.SEED_A, BenchmarkSupport.SEED_B})
+    public long seed;
+
+    @Param({"1", "2", "4", "5", "8"})
+    public int octaves;
+
+    private FractalNoise noise;
+    private int[] coords;
+    private double[] grid;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSupport.init();
+        noise = new FractalNoise(new SimplexNoise(new Random(seed)), octaves, 0.5, 0.0002, 2.0);
+        coords = BenchmarkSupport.coordinates(seed, SAMPLES, BenchmarkSupport.PLANET_RADIUS);
+        grid = new double[GRID * GRID];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void fractalNoise(Blackhole blackhole) {
+        for (int i = 0; i < coords.length; i += 2) {
+            blackhole.consume(noise.getValue(coords[i], coords[i + 1]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GRID * GRID)
+    public double[] fractalNoiseGrid() {
+        noise.fillGrid(grid, coords[0], coords[1], GRID, GRID, 1);
+        return grid;
+    }
+}
@@ -0,0 +1,47 @@
+package com.platuro.neoterra.worldgen;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** One ore cluster per operation, using the auto-detected default vein settings. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OreGeneratorBenchmark {
+
+    @Param({BenchmarkSupport.SEED_A, BenchmarkSupport.SEED_B})
+    public long seed;
+
+    @Param({"8", "30"})
+    public int veinSize;
+
+    private StubWorld world;
+    private Random random;
+    private NeoOreGenerator.OreVein vein;
+    private int chunk;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSupport.init();
+        world = new StubWorld(seed);
+        random = new Random(seed);
+        vein = new NeoOreGenerator.OreVein("iron_ore", "minecraft:iron_ore", veinSize, 5, 60, 0.5, null, 0.0, 1.0, 2.0);
+    }
+
+    @Benchmark
+    public int generateOreCluster() {
+        chunk = (chunk + 4) & 1023;
+        NeoOreGenerator.generateOreCluster(world, random, chunk, -chunk, vein);
+        return world.placedBlocks;
+    }
+}
@@ -0,0 +1,62 @@
+package com.platuro.neoterra.worldgen;
+
+import com.platuro.neoterra.worldgen.noise.SimplexNoise;
+import net.minecraft.world.gen.NoiseGeneratorSimplex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-octave simplex samples per second: vanilla's NoiseGeneratorSimplex against
+ * NeoTerra's {@link SimplexNoise}, both seeded identically, at continent-noise scale.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SimplexNoiseBenchmark {
+
+    private static final int SAMPLES = 1024;
+    private static final double SCALE = 0.0002;
+
+    @Param({BenchmarkSupport.SEED_A, BenchmarkSupport.SEED_B})
+    public long seed;
+
+    private NoiseGeneratorSimplex vanilla;
+    private SimplexNoise simplex;
+    private int[] coords;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSupport.init();
+        vanilla = new NoiseGeneratorSimplex(new Random(seed));
+        simplex = new SimplexNoise(new Random(seed));
+        coords = BenchmarkSupport.coordinates(seed, SAMPLES, BenchmarkSupport.PLANET_RADIUS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void vanillaSimplex(Blackhole blackhole) {
+        for (int i = 0; i < coords.length; i += 2) {
+            blackhole.consume(vanilla.getValue(coords[i] * SCALE, coords[i + 1] * SCALE));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void neoTerraSimplex(Blackhole blackhole) {
+        for (int i = 0; i < coords.length; i += 2) {
+            blackhole.consume(simplex.getValue(coords[i] * SCALE, coords[i + 1] * SCALE));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.platuro.neoterra.worldgen;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.profiler.Profiler;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.GameType;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProviderSurface;
+import net.minecraft.world.WorldSettings;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.storage.SaveHandlerMP;
+import net.minecraft.world.storage.WorldInfo;
+
+/**
+ * Minimal in-memory World: enough for Chunk construction and block placement,
+ * with no chunk provider and no storage. Placed blocks are only counted.
+ */
+final class StubWorld extends World {
+
+    int placedBlocks;
+
+    StubWorld(long seed) {
+        super(new SaveHandlerMP(),
+                new WorldInfo(new WorldSettings(seed, GameType.SURVIVAL, false, false, WorldType.DEFAULT), "neoterra-bench"),
+                new WorldProviderSurface(), new Profiler(), false);
+        this.provider.setWorld(this);
+    }
+
+    @Override
+    protected IChunkProvider createChunkProvider() {
+        return null;
+    }
+
+    @Override
+    protected boolean isChunkLoaded(int x, int z, boolean allowEmpty) {
+        return true;
+    }
+
+    @Override
+    public boolean setBlockState(BlockPos pos, IBlockState newState, int flags) {
+        placedBlocks++;
+        return true;
+    }
+}
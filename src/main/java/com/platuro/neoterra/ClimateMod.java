@@ -1,8 +1,17 @@
 package com.platuro.neoterra;
 
+import com.platuro.neoterra.commands.NeoTerraCommand;
 import com.platuro.neoterra.config.BiomeConfig;
 import com.platuro.neoterra.handlers.PlayerEventHandler;
+import com.platuro.neoterra.helpers.NeoTerraLog;
+import com.platuro.neoterra.pregen.PlanetPregenerator;
+import com.platuro.neoterra.worldgen.CascadeDetector;
+import com.platuro.neoterra.worldgen.EdgePrefetcher;
 import com.platuro.neoterra.worldgen.EarthlikeBiomeProvider;
+import com.platuro.neoterra.worldgen.EarthlikeProviderRegistry;
+import com.platuro.neoterra.worldgen.NeoTerraChunkGenerator;
+import com.platuro.neoterra.worldgen.SpawnFinder;
+import com.platuro.neoterra.worldgen.WorldgenCacheFiles;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.*;
@@ -10,6 +19,8 @@ import net.minecraft.world.biome.Biome;
 import net.minecraft.world.biome.BiomeProvider;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.gen.ChunkProviderServer;
+import net.minecraft.world.gen.IChunkGenerator;
+import net.minecraftforge.common.ForgeChunkManager;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.Mod;
@@ -30,23 +41,41 @@ public class ClimateMod {
     public static final String NAME = "NeoTerra";
     public static final String VERSION = "0.1";
 
+    @Mod.Instance(MODID)
+    public static ClimateMod instance;
+
     private static Logger logger = LogManager.getLogger(NAME);
-    private static File configFileBiome;
 
     @EventHandler
     public void preInit(FMLPreInitializationEvent event) {
         logger = event.getModLog();
         File configDir = event.getModConfigurationDirectory();
-        configFileBiome = new File(configDir, "neoterra/biome_config.cfg");
+        File configFileBiome = new File(configDir, "neoterra/biome_config.cfg");
         BiomeConfig.loadConfig(configFileBiome);
     }
 
     @EventHandler
     public void init(FMLInitializationEvent event) {
         MinecraftForge.EVENT_BUS.register(new PlayerEventHandler());
+        MinecraftForge.EVENT_BUS.register(CascadeDetector.class);
+        MinecraftForge.EVENT_BUS.register(EdgePrefetcher.class);
+        ForgeChunkManager.setForcedChunkLoadingCallback(this, EdgePrefetcher::releaseTickets);
         MinecraftForge.EVENT_BUS.register(this);
     }
 
+    @EventHandler
+    public void serverStarting(FMLServerStartingEvent event) {
+        event.registerServerCommand(new NeoTerraCommand());
+    }
+
+    @EventHandler
+    public void serverStopping(FMLServerStoppingEvent event) {
+        // Progress is kept; /neoterra pregen start resumes after the restart
+        PlanetPregenerator.stop();
+        EdgePrefetcher.releaseAll();
+        NeoTerraLog.flush();
+    }
+
     private static Field getBiomeProviderField() throws NoSuchFieldException {
         for (String fieldName : new String[]{"biomeProvider", "field_76578_c"}) {
             try {
@@ -58,40 +87,62 @@ public class ClimateMod {
         throw new NoSuchFieldException("Could not find biomeProvider field");
     }
 
-    @SubscribeEvent(priority = EventPriority.HIGHEST)
-    public static void onCreateSpawn(WorldEvent.CreateSpawnPosition event) {
+    /**
+     * Installs the world's shared provider from {@link EarthlikeProviderRegistry} in
+     * the dimensions NeoTerra is configured for; the chunk generator, if NeoTerra's,
+     * already holds the same instance.
+     */
+    private static void installBiomeProvider(World world) {
+        if (!BiomeConfig.isNeoTerraDimension(world.provider.getDimension())) return;
         try {
-            World world = event.getWorld();
-            if (world == null || world.isRemote) return;
-
             Field biomeProviderField = getBiomeProviderField();
             BiomeProvider currentProvider = (BiomeProvider) biomeProviderField.get(world.provider);
 
             if (!(currentProvider instanceof EarthlikeBiomeProvider)) {
-                biomeProviderField.set(world.provider, new EarthlikeBiomeProvider(world.getSeed()));
+                biomeProviderField.set(world.provider, EarthlikeProviderRegistry.forWorld(world));
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            NeoTerraLog.error("Could not install the NeoTerra biome provider", e);
+        }
+    }
+
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public static void onCreateSpawn(WorldEvent.CreateSpawnPosition event) {
+        World world = event.getWorld();
+        if (world == null || world.isRemote) return;
+
+        installBiomeProvider(world);
+
+        // Vanilla's search would scan getBiomesToSpawnIn, oceans included, and load chunks
+        BiomeProvider provider = world.getBiomeProvider();
+        if (BiomeConfig.LAND_SPAWN && provider instanceof EarthlikeBiomeProvider && world.provider.canRespawnHere()
+                && !event.getSettings().isBonusChestEnabled()) {
+            long start = System.nanoTime();
+            IChunkGenerator generator = world instanceof WorldServer ? ((WorldServer) world).getChunkProvider().chunkGenerator : null;
+            BlockPos spawn = SpawnFinder.find((EarthlikeBiomeProvider) provider,
+                    generator instanceof NeoTerraChunkGenerator ? (NeoTerraChunkGenerator) generator : null,
+                    world.provider.getAverageGroundLevel());
+            world.getWorldInfo().setSpawn(spawn);
+            event.setCanceled(true);
+            NeoTerraLog.info("Spawn set to {} in {} ms", spawn, (System.nanoTime() - start) / 1_000_000L);
         }
     }
 
     @SubscribeEvent
     public static void onWorldLoad(WorldEvent.Load event) {
-        BiomeConfig.loadConfig(configFileBiome);
+        BiomeConfig.reloadIfChanged();
         World world = event.getWorld();
 
         if (!world.isRemote) {
-            try {
-                Field biomeProviderField = getBiomeProviderField();
-                BiomeProvider currentProvider = (BiomeProvider) biomeProviderField.get(world.provider);
-
-                if (!(currentProvider instanceof EarthlikeBiomeProvider)) {
-                    biomeProviderField.set(world.provider, new EarthlikeBiomeProvider(world.getSeed()));
-                }
+            installBiomeProvider(world);
+        }
+    }
 
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        if (!event.getWorld().isRemote) {
+            EarthlikeProviderRegistry.release(event.getWorld());
+            WorldgenCacheFiles.close(event.getWorld());
         }
     }
 }
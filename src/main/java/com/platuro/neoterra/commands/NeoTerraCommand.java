@@ -0,0 +1,139 @@
+package com.platuro.neoterra.commands;
+
+import com.platuro.neoterra.helpers.NeoTerraLog;
+import com.platuro.neoterra.pregen.PlanetPregenerator;
+import com.platuro.neoterra.worldgen.BiomeAtlas;
+import com.platuro.neoterra.worldgen.EarthlikeBiomeProvider;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.biome.BiomeProvider;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * /neoterra pregen start [msPerTick] | stop | status
+ * /neoterra locate <biome> [count]
+ */
+public class NeoTerraCommand extends CommandBase {
+
+    private static final String USAGE = "/neoterra <pregen <start [msPerTick]|stop|status> | locate <biome> [count]>";
+    private static final int DEFAULT_LOCATE_COUNT = 5;
+
+    @Override
+    public String getName() {
+        return "neoterra";
+    }
+
+    @Override
+    public String getUsage(ICommandSender sender) {
+        return USAGE;
+    }
+
+    @Override
+    public void execute(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
+        if (args.length >= 2 && "locate".equals(args[0])) {
+            locate(server, sender, args);
+            return;
+        }
+        if (args.length < 2 || !"pregen".equals(args[0])) {
+            throw new WrongUsageException(USAGE);
+        }
+
+        switch (args[1]) {
+            case "start": {
+                int budgetMs = args.length > 2 ? parseInt(args[2], 1, 1000) : PlanetPregenerator.DEFAULT_BUDGET_MS;
+                WorldServer world = server.getWorld(0);
+                try {
+                    if (!PlanetPregenerator.start(world, sender, budgetMs)) {
+                        reply(sender, "Planet pregeneration is already running.");
+                    }
+                } catch (IOException e) {
+                    throw new CommandException("Could not read pregeneration progress: " + e.getMessage());
+                }
+                break;
+            }
+            case "stop":
+                if (!PlanetPregenerator.stop()) {
+                    reply(sender, "Planet pregeneration is not running.");
+                }
+                break;
+            case "status": {
+                PlanetPregenerator pregen = PlanetPregenerator.getRunning();
+                reply(sender, pregen != null ? pregen.getStatus() : "Planet pregeneration is not running.");
+                break;
+            }
+            default:
+                throw new WrongUsageException(USAGE);
+        }
+    }
+
+    /** Answers from the biome atlas, right away if it is current or once it is rebuilt. */
+    private static void locate(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
+        Biome biome = ForgeRegistries.BIOMES.getValue(new ResourceLocation(args[1]));
+        if (biome == null) {
+            throw new CommandException("Unknown biome: " + args[1]);
+        }
+        int count = args.length > 2 ? parseInt(args[2], 1, 100) : DEFAULT_LOCATE_COUNT;
+        BiomeProvider provider = sender.getEntityWorld().getBiomeProvider();
+        if (!(provider instanceof EarthlikeBiomeProvider)) {
+            throw new CommandException("NeoTerra does not provide the biomes of this world.");
+        }
+        BlockPos origin = sender.getPosition();
+
+        CompletableFuture<BiomeAtlas> atlas = ((EarthlikeBiomeProvider) provider).getAtlas();
+        if (!atlas.isDone()) {
+            reply(sender, "Building the biome atlas, results follow shortly.");
+        }
+        atlas.whenComplete((built, error) -> server.addScheduledTask(() -> {
+            if (error != null) {
+                NeoTerraLog.error("Biome atlas build failed", error);
+                reply(sender, "Could not build the biome atlas, see the server log.");
+                return;
+            }
+            replyLocate(sender, built, biome, args[1], origin, count);
+        }));
+    }
+
+    private static void replyLocate(ICommandSender sender, BiomeAtlas atlas, Biome biome, String name,
+                                    BlockPos origin, int count) {
+        List<BiomeAtlas.Region> regions = atlas.getRegions(biome);
+        reply(sender, String.format("%s: %.2f%% of the planet in %d regions (sampled every %d blocks)",
+                name, atlas.getShare(biome) * 100.0, regions.size(), atlas.getSampleStep()));
+        for (BiomeAtlas.Region region : atlas.findNearest(biome, origin.getX(), origin.getZ(), count)) {
+            reply(sender, String.format("  at %d, %d (centre %d blocks away), about %d blocks across",
+                    region.anchorX, region.anchorZ, (int) region.distanceTo(origin.getX(), origin.getZ()),
+                    (int) Math.sqrt(region.area)));
+        }
+    }
+
+    @Override
+    public List<String> getTabCompletions(MinecraftServer server, ICommandSender sender, String[] args, @Nullable BlockPos targetPos) {
+        if (args.length == 1) {
+            return getListOfStringsMatchingLastWord(args, "pregen", "locate");
+        }
+        if (args.length == 2 && "locate".equals(args[0])) {
+            return getListOfStringsMatchingLastWord(args, ForgeRegistries.BIOMES.getKeys());
+        }
+        if (args.length == 2 && "pregen".equals(args[0])) {
+            return getListOfStringsMatchingLastWord(args, "start", "stop", "status");
+        }
+        return Collections.emptyList();
+    }
+
+    private static void reply(ICommandSender sender, String text) {
+        sender.sendMessage(new TextComponentString(text));
+    }
+}
@@ -1,29 +1,42 @@
 package com.platuro.neoterra.config;
 
 import com.platuro.neoterra.helpers.BOP;
+import com.platuro.neoterra.helpers.NeoTerraLog;
+import com.platuro.neoterra.worldgen.ClimateZone;
 import net.minecraft.init.Biomes;
+import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.biome.Biome;
 import net.minecraftforge.common.config.Configuration;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+import org.apache.logging.log4j.Level;
 import java.io.File;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
 public class BiomeConfig {
     private static final String CATEGORY_WORLD = "world_generation";
     private static final String CATEGORY_CLIMATE = "climate_settings";
-
-    public static int MAX_WORLD_HEIGHT;
-    public static int MAX_WORLD_WIDTH;
-    public static float FROZEN_START;
-    public static float COLD_START;
-    public static float WARM_START;
-    public static float CLIMATE_FADE;
-    public static float WORLD_SHIFT_VALUE;
-    public static float CONTINENT_SCALE_MULTIPLIER;
+    private static final String CATEGORY_PERFORMANCE = "performance";
+    private static final String CATEGORY_BIOME_WEIGHTS = "biome_weights";
+    private static final String CATEGORY_DEBUG = "debug";
+
+    public static boolean LAND_SPAWN;
+    public static int[] DIMENSIONS = {0};
+    public static int BIOME_CACHE_SIZE;
+    public static boolean PLANET_RASTER;
+    public static boolean PERSISTENT_CACHE;
+    public static int EDGE_PREFETCH_DISTANCE;
+    public static int EDGE_PREFETCH_RADIUS;
+    public static int EDGE_PREFETCH_BUDGET_MS;
+    public static boolean DEBUG_CASCADING_LOADS;
 
     public static final int POLAR_WAVES = 10;
 
-    private static final Map<Biome, Double> BIOME_WEIGHTS = new HashMap<>();
+    // Snapshot of the worldgen settings last parsed, and the file they came from
+    private static volatile WorldGenSettings worldGenSettings;
+    private static File configFile;
+    private static ConfigFileStamp configStamp;
 
     // Postion of Biomes
     public static Biome[] FROZEN_COASTAL_BIOMES = { Biomes.ICE_PLAINS };
@@ -42,34 +55,106 @@ public class BiomeConfig {
         Configuration config = new Configuration(configFile);
         config.load();
 
-        MAX_WORLD_HEIGHT = config.getInt("maxWorldHeight", CATEGORY_WORLD, 10000, 512, 100000, "Maximum world height.");
-        MAX_WORLD_WIDTH = config.getInt("maxWorldWidth", CATEGORY_WORLD, 10000, 512, 100000, "Maximum world width.");
-        CONTINENT_SCALE_MULTIPLIER = config.getFloat("continentScaleMultiplier", CATEGORY_WORLD, 1, 0.1f, 10, "Continent scale multiplier.");
-        WORLD_SHIFT_VALUE = (float) config.getFloat("worldShiftValue", CATEGORY_WORLD, 0.0f, -1f, 1f, "World shift value.");
-
-        FROZEN_START = (float) config.getFloat("frozenStart", CATEGORY_CLIMATE, 0.95f, 0f, 1f, "Latitude where frozen biomes start (~75°-90°).");
-        COLD_START = (float) config.getFloat("coldStart", CATEGORY_CLIMATE, 0.75f, 0f, 1f, "Latitude where cold biomes start (~50°-75°).");
-        WARM_START = (float) config.getFloat("warmStart", CATEGORY_CLIMATE, 0.30f, 0f, 1f, "Latitude where warm biomes start (~20°-50°).");
-        CLIMATE_FADE = (float) config.getFloat("climateFade", CATEGORY_CLIMATE, 0.08f, 0f, 1f, "Smooth transition between biome zones.");
+        int maxWorldHeight = config.getInt("maxWorldHeight", CATEGORY_WORLD, 10000, 512, 100000, "Maximum world height.");
+        int maxWorldWidth = config.getInt("maxWorldWidth", CATEGORY_WORLD, 10000, 512, 100000, "Maximum world width.");
+        float continentScaleMultiplier = config.getFloat("continentScaleMultiplier", CATEGORY_WORLD, 1, 0.1f, 10, "Continent scale multiplier.");
+        float worldShiftValue = (float) config.getFloat("worldShiftValue", CATEGORY_WORLD, 0.0f, -1f, 1f, "World shift value.");
+        LAND_SPAWN = config.getBoolean("landSpawn", CATEGORY_WORLD, true, "Place the spawn of new worlds on the nearest temperate land, found from the biome noise without loading chunks. Worlds with a bonus chest keep vanilla's spawn search.");
+        DIMENSIONS = config.get(CATEGORY_WORLD, "dimensions", new int[]{0}, "Dimension IDs whose biomes NeoTerra provides, and in which players wrap around the planet edges.").getIntList();
+
+        float frozenStart = (float) config.getFloat("frozenStart", CATEGORY_CLIMATE, 0.95f, 0f, 1f, "Latitude where frozen biomes start (~75°-90°).");
+        float coldStart = (float) config.getFloat("coldStart", CATEGORY_CLIMATE, 0.75f, 0f, 1f, "Latitude where cold biomes start (~50°-75°).");
+        float warmStart = (float) config.getFloat("warmStart", CATEGORY_CLIMATE, 0.30f, 0f, 1f, "Latitude where warm biomes start (~20°-50°).");
+        float climateFade = (float) config.getFloat("climateFade", CATEGORY_CLIMATE, 0.08f, 0f, 1f, "Smooth transition between biome zones.");
+
+        BIOME_CACHE_SIZE = config.getInt("biomeCacheSize", CATEGORY_PERFORMANCE, 4096, 64, 1048576, "Number of 16x16 biome regions kept in each biome cache.");
+        PERSISTENT_CACHE = config.getBoolean("persistentCache", CATEGORY_PERFORMANCE, true, "Keep generated biome IDs and heights in memory-mapped files in the world folder, so restarts skip the noise for areas generated before.");
+        PLANET_RASTER = config.getBoolean("planetRaster", CATEGORY_PERFORMANCE, false, "Sample the whole planet's biomes at 4-block resolution when the world loads (about 25 MB at the default size) and answer 4-block biome queries, as used by chunk generation and biome position searches such as stronghold placement, from it. Generated worlds are the same either way.");
+        EDGE_PREFETCH_DISTANCE = config.getInt("edgePrefetchDistance", CATEGORY_PERFORMANCE, 160, 0, 4096, "Blocks before a player reaches a planet edge at which the chunks on the far side start loading, 0 to disable.");
+        EDGE_PREFETCH_RADIUS = config.getInt("edgePrefetchRadius", CATEGORY_PERFORMANCE, 4, 0, 12, "Radius in chunks of the area loaded around the predicted arrival point.");
+        EDGE_PREFETCH_BUDGET_MS = config.getInt("edgePrefetchBudgetMs", CATEGORY_PERFORMANCE, 5, 1, 50, "Milliseconds per server tick spent loading prefetched edge chunks.");
+
+        DEBUG_CASCADING_LOADS = config.getBoolean("detectCascadingLoads", CATEGORY_DEBUG, false, "Log every chunk load triggered while NeoTerra populates a chunk or places ores.");
+        String logLevel = config.getString("logLevel", CATEGORY_DEBUG, "INFO", "Most verbose NeoTerra log level.",
+                new String[]{"OFF", "ERROR", "WARN", "INFO", "DEBUG"});
+        int logRate = config.getInt("logMessagesPerSecond", CATEGORY_DEBUG, 50, 1, 100000, "Log lines per second before further lines are dropped (errors are always kept).");
+        int logSummary = config.getInt("counterSummarySeconds", CATEGORY_DEBUG, 60, 0, 86400, "How often worldgen counters are logged, 0 to never.");
+        NeoTerraLog.configure(Level.toLevel(logLevel, Level.INFO), logRate, logSummary);
+
+        Map<ClimateZone, Map<Biome, Double>> zoneWeights = new EnumMap<>(ClimateZone.class);
+        for (ClimateZone zone : ClimateZone.values()) {
+            String[] entries = config.getStringList(zone.configKey() + "Weights", CATEGORY_BIOME_WEIGHTS, new String[0],
+                    "Biome weights used only in the " + zone.configKey() + " zone, as biome=weight (e.g. minecraft:plains=2.0). Unlisted biomes use their global weight.");
+            for (String entry : entries) {
+                parseZoneWeight(zoneWeights, zone, entry);
+            }
+        }
 
-        setBiomeWeight(Biomes.SWAMPLAND, 0.2f);
-        setBiomeWeight(BOP.getBOPBiome("bamboo_forest"), 0.2f);
-        setBiomeWeight(BOP.getBOPBiome("lush_desert"), 0.1f);
-        setBiomeWeight(BOP.getBOPBiome("tundra"), 0.2f);
-        setBiomeWeight(BOP.getBOPBiome("orchard"), 0.4f);
+        Map<Biome, Double> biomeWeights = new HashMap<>();
+        setBiomeWeight(biomeWeights, Biomes.SWAMPLAND, 0.2f);
+        setBiomeWeight(biomeWeights, BOP.getBOPBiome("bamboo_forest"), 0.2f);
+        setBiomeWeight(biomeWeights, BOP.getBOPBiome("lush_desert"), 0.1f);
+        setBiomeWeight(biomeWeights, BOP.getBOPBiome("tundra"), 0.2f);
+        setBiomeWeight(biomeWeights, BOP.getBOPBiome("orchard"), 0.4f);
 
         if (config.hasChanged()) {
             config.save();
         }
+        worldGenSettings = new WorldGenSettings(maxWorldWidth, maxWorldHeight, continentScaleMultiplier, worldShiftValue,
+                frozenStart, coldStart, warmStart, climateFade, PLANET_RASTER, biomeWeights, zoneWeights);
+        BiomeConfig.configFile = configFile;
+        configStamp = ConfigFileStamp.of(configFile);
     }
 
-    public static void setBiomeWeight(Biome biome, double weight) {
-        if(biome != null) {
-            BIOME_WEIGHTS.put(biome, weight);
+    /**
+     * Parses the config file again if it changed since it was last loaded; a no-op
+     * otherwise, so it is cheap to call whenever a world loads.
+     */
+    public static void reloadIfChanged() {
+        File file = configFile;
+        if (file == null || configStamp.isCurrent(file)) return;
+        NeoTerraLog.info("{} changed, reloading", file.getName());
+        loadConfig(file);
+    }
+
+    /** The worldgen settings new biome providers and chunk generators are created with. */
+    public static WorldGenSettings getWorldGenSettings() {
+        return worldGenSettings;
+    }
+
+    /** True if NeoTerra provides the biomes of the given dimension. */
+    public static boolean isNeoTerraDimension(int dimension) {
+        for (int id : DIMENSIONS) {
+            if (id == dimension) return true;
         }
+        return false;
     }
 
-    public static double getBiomeWeight(Biome biome) {
-        return BIOME_WEIGHTS.getOrDefault(biome, 1.0); // Default weight 1.0
+    private static void parseZoneWeight(Map<ClimateZone, Map<Biome, Double>> zoneWeights, ClimateZone zone, String entry) {
+        int split = entry.lastIndexOf('=');
+        if (split <= 0) {
+            NeoTerraLog.warn("Ignoring malformed {} biome weight: {}", zone.configKey(), entry);
+            return;
+        }
+        Biome biome = ForgeRegistries.BIOMES.getValue(new ResourceLocation(entry.substring(0, split).trim()));
+        if (biome == null) {
+            NeoTerraLog.warn("Ignoring unknown biome in {} weights: {}", zone.configKey(), entry);
+            return;
+        }
+        try {
+            double weight = Double.parseDouble(entry.substring(split + 1).trim());
+            if (weight >= 0) {
+                zoneWeights.computeIfAbsent(zone, z -> new HashMap<>()).put(biome, weight);
+                return;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        NeoTerraLog.warn("Ignoring invalid {} biome weight: {}", zone.configKey(), entry);
+    }
+
+    private static void setBiomeWeight(Map<Biome, Double> weights, Biome biome, double weight) {
+        if(biome != null) {
+            weights.put(biome, weight);
+        }
     }
 }
@@ -0,0 +1,49 @@
+package com.platuro.neoterra.config;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Modification time and content hash of a config file as it was last parsed, to
+ * tell whether it needs parsing again. The time is checked first; the file is only
+ * read when it moved, so a touched but unchanged file is not parsed again either.
+ */
+public final class ConfigFileStamp {
+
+    private volatile long modified;
+    private final int contentHash;
+
+    private ConfigFileStamp(long modified, int contentHash) {
+        this.modified = modified;
+        this.contentHash = contentHash;
+    }
+
+    /** Stamp of the file as it is now; take it after the parser saved any defaults. */
+    public static ConfigFileStamp of(File file) {
+        return new ConfigFileStamp(file.lastModified(), hashOf(file));
+    }
+
+    /** True if the file still has the stamped content. */
+    public boolean isCurrent(File file) {
+        long now = file.lastModified();
+        if (now == modified) {
+            return true;
+        }
+        if (hashOf(file) != contentHash) {
+            return false;
+        }
+        modified = now;
+        return true;
+    }
+
+    // A missing or unreadable file hashes to 0, which is then what "unchanged" means
+    private static int hashOf(File file) {
+        try {
+            return Arrays.hashCode(Files.readAllBytes(file.toPath()));
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
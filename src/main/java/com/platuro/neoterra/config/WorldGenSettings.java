@@ -0,0 +1,135 @@
+package com.platuro.neoterra.config;
+
+import com.platuro.neoterra.worldgen.ClimateZone;
+import net.minecraft.world.biome.Biome;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Every setting that decides what a world generates, parsed once and never changed
+ * afterwards, together with the constants derived from them.
+ *
+ * Each biome provider and chunk generator is handed the snapshot current when it is
+ * created and keeps it, so a config change applies to worlds loaded after it and
+ * never half-way through one; a world's caches, keyed by {@link #hash}, always
+ * match what it generates. {@link BiomeConfig} builds a new snapshot only when the
+ * config file actually changed.
+ */
+public final class WorldGenSettings {
+
+    private static final AtomicInteger VERSIONS = new AtomicInteger();
+
+    // ~~~~~~~~~ Configured ~~~~~~~~~
+    public final int maxWorldWidth;
+    public final int maxWorldHeight;
+    public final float continentScaleMultiplier;
+    public final float worldShiftValue;
+    public final float frozenStart;
+    public final float coldStart;
+    public final float warmStart;
+    public final float climateFade;
+    public final boolean planetRaster;
+
+    // ~~~~~~~~~ Derived, for the biome provider ~~~~~~~~~
+    /** Distance from the equator where the polar ocean starts, before its wave. */
+    public final int polarZLimit;
+    /** Width of the band before the polar limit in which land fades into ocean. */
+    public final int polarFadeBand;
+    /** Distance from the equator at which the latitude reaches 1. */
+    public final float poleLimit;
+    public final double continentScale;
+    public final double biomePatchScale;
+    /** Offset added to the ocean/land value; higher means more land. */
+    public final double shiftValue;
+
+    // ~~~~~~~~~ Derived, for the world boundary ~~~~~~~~~
+    /** X at which players wrap around to the other side of the planet. */
+    public final int wrapWidth;
+    /** Z at which players cross the pole to the other hemisphere. */
+    public final int wrapZLimit;
+
+    private final Map<Biome, Double> biomeWeights;
+    private final Map<ClimateZone, Map<Biome, Double>> zoneWeights;
+
+    /** Sequence number, unique to this snapshot within the session. */
+    public final int version;
+    /** Hash of every value above that changes generated biomes or terrain. */
+    public final int hash;
+
+    WorldGenSettings(int maxWorldWidth, int maxWorldHeight, float continentScaleMultiplier, float worldShiftValue,
+                     float frozenStart, float coldStart, float warmStart, float climateFade, boolean planetRaster,
+                     Map<Biome, Double> biomeWeights, Map<ClimateZone, Map<Biome, Double>> zoneWeights) {
+        this.maxWorldWidth = maxWorldWidth;
+        this.maxWorldHeight = maxWorldHeight;
+        this.continentScaleMultiplier = continentScaleMultiplier;
+        this.worldShiftValue = worldShiftValue;
+        this.frozenStart = frozenStart;
+        this.coldStart = coldStart;
+        this.warmStart = warmStart;
+        this.climateFade = climateFade;
+        this.planetRaster = planetRaster;
+
+        int zFadeBand = (int) (maxWorldHeight * 0.4);
+        this.polarZLimit = maxWorldHeight - zFadeBand;
+        this.polarFadeBand = (int) ((maxWorldHeight - zFadeBand) * 0.2);
+        this.poleLimit = maxWorldHeight - zFadeBand - polarFadeBand;
+        float overallMultiplier = (float) ((maxWorldWidth + maxWorldHeight) / 2) / 10000;
+        this.continentScale = 0.0002 / (continentScaleMultiplier * overallMultiplier);
+        this.biomePatchScale = 0.0007 / (overallMultiplier * 2);
+        this.shiftValue = worldShiftValue - 0.27;
+
+        this.wrapWidth = maxWorldWidth - 200;
+        this.wrapZLimit = (int) (maxWorldHeight - (maxWorldHeight * 0.2));
+
+        this.biomeWeights = Collections.unmodifiableMap(new HashMap<>(biomeWeights));
+        Map<ClimateZone, Map<Biome, Double>> zones = new EnumMap<>(ClimateZone.class);
+        for (Map.Entry<ClimateZone, Map<Biome, Double>> entry : zoneWeights.entrySet()) {
+            zones.put(entry.getKey(), Collections.unmodifiableMap(new HashMap<>(entry.getValue())));
+        }
+        this.zoneWeights = Collections.unmodifiableMap(zones);
+
+        this.version = VERSIONS.incrementAndGet();
+        this.hash = computeHash();
+    }
+
+    public double getBiomeWeight(Biome biome) {
+        return biomeWeights.getOrDefault(biome, 1.0); // Default weight 1.0
+    }
+
+    /** Weight of a biome within one climate zone, falling back to its global weight. */
+    public double getBiomeWeight(ClimateZone zone, Biome biome) {
+        Map<Biome, Double> weights = zoneWeights.get(zone);
+        if (weights != null) {
+            Double weight = weights.get(biome);
+            if (weight != null) {
+                return weight;
+            }
+        }
+        return getBiomeWeight(biome);
+    }
+
+    private int computeHash() {
+        // planetRaster only changes how biomes are looked up, so it stays out
+        int hash = Objects.hash(maxWorldHeight, maxWorldWidth, continentScaleMultiplier, worldShiftValue,
+                frozenStart, coldStart, warmStart, climateFade);
+        hash = 31 * hash + weightsHash(biomeWeights);
+        for (ClimateZone zone : ClimateZone.values()) {
+            hash = 31 * hash + weightsHash(zoneWeights.getOrDefault(zone, Collections.emptyMap()));
+        }
+        return hash;
+    }
+
+    // Keyed by biome ID rather than Biome, whose hashCode differs between runs
+    private static int weightsHash(Map<Biome, Double> weights) {
+        int hash = 0;
+        for (Map.Entry<Biome, Double> entry : weights.entrySet()) {
+            hash += Biome.getIdForBiome(entry.getKey()) * 31 ^ entry.getValue().hashCode();
+        }
+        return hash;
+    }
+}
@@ -19,12 +19,14 @@ public class BOP {
                     }
                 }
             } catch (NoSuchFieldException e) {
-                System.out.println("No such BOP field: " + fieldName);
+                NeoTerraLog.warn("No such BOP field: {}", fieldName);
             } catch (Exception e) {
-                e.printStackTrace();
+                NeoTerraLog.warn("Could not read BOP field {}", fieldName, e);
             }
-        }catch (Exception e) {
-            e.printStackTrace();
+        } catch (ClassNotFoundException e) {
+            NeoTerraLog.debug("BOP not installed, no biome {}", fieldName);
+        } catch (Exception e) {
+            NeoTerraLog.warn("Could not look up BOP biome {}", fieldName, e);
         }
         return null;
     }
@@ -0,0 +1,29 @@
+package com.platuro.neoterra.helpers;
+
+import net.minecraft.world.biome.Biome;
+
+/**
+ * Compact biome IDs for caches and rasters. 1.12 biome IDs fit in a byte, so
+ * worldgen stores bytes and decodes them through a flat lookup table instead
+ * of holding Biome references or going through the registry.
+ */
+public class BiomeIds {
+    private static final Biome[] BY_ID = new Biome[256];
+
+    public static byte encode(Biome biome) {
+        int id = Biome.getIdForBiome(biome) & 0xFF;
+        if (BY_ID[id] == null) {
+            BY_ID[id] = biome;
+        }
+        return (byte) id;
+    }
+
+    public static Biome decode(byte id) {
+        Biome biome = BY_ID[id & 0xFF];
+        if (biome == null) {
+            biome = Biome.getBiome(id & 0xFF);
+            BY_ID[id & 0xFF] = biome;
+        }
+        return biome;
+    }
+}
@@ -0,0 +1,254 @@
+package com.platuro.neoterra.helpers;
+
+import com.platuro.neoterra.ClimateMod;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logging for worldgen code, which can run millions of times per pregen pass.
+ *
+ * Calls below the configured level return before touching their arguments. Records
+ * that pass are queued in a bounded buffer and formatted by a daemon thread, so the
+ * generating thread never builds strings; when the buffer is full or more than the
+ * configured number of records arrive in one second, the extra ones are dropped and
+ * reported as a count. ERROR records are never rate limited.
+ *
+ * Per-block or per-column events should use {@link #count} instead of a log line;
+ * counters are summarised periodically at INFO by the same thread, which starts with
+ * the first record or counted event.
+ */
+public final class NeoTerraLog {
+
+    private static final Logger LOGGER = LogManager.getLogger(ClimateMod.NAME);
+    private static final int BUFFER_SIZE = 4096;
+
+    private static final BlockingQueue<Record> BUFFER = new ArrayBlockingQueue<>(BUFFER_SIZE);
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+    private static final LongAdder DROPPED = new LongAdder();
+    // Counter values at the last summary; only the drainer, or flush once it stopped, touches it
+    private static final Map<String, Long> LAST_SUMMARY = new HashMap<>();
+    // Queued by flush to wake a drainer waiting on an empty buffer; never written
+    private static final Record WAKE_UP = new Record(Level.OFF, "", new Object[0]);
+
+    private static final AtomicLong WINDOW = new AtomicLong();
+    private static final AtomicInteger WINDOW_COUNT = new AtomicInteger();
+
+    private static volatile Level level = Level.INFO;
+    private static volatile int maxPerSecond = 50;
+    private static volatile long summaryIntervalNanos = TimeUnit.SECONDS.toNanos(60);
+    private static volatile Thread drainer;
+
+    private NeoTerraLog() {}
+
+    /**
+     * @param newLevel         most verbose level that is logged
+     * @param newMaxPerSecond  records accepted per second before dropping, ERROR excepted
+     * @param summarySeconds   how often counters are summarised, 0 to never
+     */
+    public static void configure(Level newLevel, int newMaxPerSecond, int summarySeconds) {
+        level = newLevel;
+        maxPerSecond = newMaxPerSecond;
+        summaryIntervalNanos = TimeUnit.SECONDS.toNanos(summarySeconds);
+        if (summarySeconds > 0) {
+            ensureDrainer();
+        }
+    }
+
+    public static boolean isEnabled(Level target) {
+        return target.intLevel() <= level.intLevel();
+    }
+
+    public static void error(String pattern, Object... args) {
+        log(Level.ERROR, pattern, args);
+    }
+
+    public static void warn(String pattern, Object... args) {
+        log(Level.WARN, pattern, args);
+    }
+
+    public static void info(String pattern, Object... args) {
+        log(Level.INFO, pattern, args);
+    }
+
+    public static void debug(String pattern, Object... args) {
+        log(Level.DEBUG, pattern, args);
+    }
+
+    /**
+     * Queues a record using log4j's {@code {}} placeholders. A trailing Throwable is
+     * logged with its stack trace.
+     */
+    public static void log(Level target, String pattern, Object... args) {
+        if (!isEnabled(target)) return;
+        if (target != Level.ERROR && !withinRate()) {
+            DROPPED.increment();
+            return;
+        }
+        if (!BUFFER.offer(new Record(target, pattern, args))) {
+            DROPPED.increment();
+            return;
+        }
+        ensureDrainer();
+    }
+
+    public static void count(String event) {
+        counter(event).increment();
+        ensureDrainer();
+    }
+
+    public static void count(String event, long amount) {
+        counter(event).add(amount);
+        ensureDrainer();
+    }
+
+    public static long getCount(String event) {
+        LongAdder adder = COUNTERS.get(event);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    /** Current counter values, sorted by name. */
+    public static Map<String, Long> getCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : COUNTERS.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().sum());
+        }
+        return counts;
+    }
+
+    /**
+     * Stops the drainer, then writes out everything still queued and a last counter
+     * summary on the calling thread, e.g. when the server stops. The next record or
+     * counted event starts a new drainer.
+     */
+    public static void flush() {
+        // Held throughout, so no new drainer writes alongside
+        synchronized (NeoTerraLog.class) {
+            stopDrainer();
+            List<Record> pending = new ArrayList<>();
+            BUFFER.drainTo(pending);
+            for (Record record : pending) {
+                if (record != WAKE_UP) {
+                    record.write();
+                }
+            }
+            reportDropped();
+            if (summaryIntervalNanos > 0) {
+                summarise();
+            }
+        }
+    }
+
+    private static LongAdder counter(String event) {
+        LongAdder adder = COUNTERS.get(event);
+        return adder != null ? adder : COUNTERS.computeIfAbsent(event, e -> new LongAdder());
+    }
+
+    private static boolean withinRate() {
+        long second = System.nanoTime() / 1_000_000_000L;
+        long window = WINDOW.get();
+        if (window != second && WINDOW.compareAndSet(window, second)) {
+            WINDOW_COUNT.set(0);
+        }
+        return WINDOW_COUNT.incrementAndGet() <= maxPerSecond;
+    }
+
+    private static void ensureDrainer() {
+        if (drainer != null) return;
+        synchronized (NeoTerraLog.class) {
+            if (drainer != null) return;
+            Thread thread = new Thread(NeoTerraLog::drain, "NeoTerra Log");
+            thread.setDaemon(true);
+            // Set first: the drainer runs while it is the current one
+            drainer = thread;
+            thread.start();
+        }
+    }
+
+    // Waits for the drainer to finish the record it is writing; the rest stays queued, in order
+    private static void stopDrainer() {
+        Thread thread = drainer;
+        if (thread == null) return;
+        drainer = null;
+        BUFFER.offer(WAKE_UP);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void drain() {
+        long nextSummary = System.nanoTime() + summaryIntervalNanos;
+        while (drainer == Thread.currentThread()) {
+            try {
+                Record record = BUFFER.poll(1, TimeUnit.SECONDS);
+                if (record != null && record != WAKE_UP) {
+                    record.write();
+                }
+                reportDropped();
+
+                if (summaryIntervalNanos > 0 && System.nanoTime() - nextSummary >= 0) {
+                    summarise();
+                    nextSummary = System.nanoTime() + summaryIntervalNanos;
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                // A bad argument's toString must not kill logging for the rest of the session
+                LOGGER.warn("Dropped a log record that failed to format", e);
+            }
+        }
+    }
+
+    private static void reportDropped() {
+        long dropped = DROPPED.sumThenReset();
+        if (dropped > 0) {
+            LOGGER.warn("{} log records dropped by rate limit or full buffer", dropped);
+        }
+    }
+
+    private static void summarise() {
+        if (!isEnabled(Level.INFO)) return;
+        StringBuilder changed = new StringBuilder();
+        for (Map.Entry<String, Long> entry : getCounts().entrySet()) {
+            Long previous = LAST_SUMMARY.put(entry.getKey(), entry.getValue());
+            if (previous == null || !previous.equals(entry.getValue())) {
+                if (changed.length() > 0) changed.append(", ");
+                changed.append(entry.getKey()).append('=').append(entry.getValue());
+            }
+        }
+        if (changed.length() > 0) {
+            LOGGER.info("Worldgen counters: {}", changed);
+        }
+    }
+
+    private static final class Record {
+        final Level level;
+        final String pattern;
+        final Object[] args;
+
+        Record(Level level, String pattern, Object[] args) {
+            this.level = level;
+            this.pattern = pattern;
+            this.args = args;
+        }
+
+        void write() {
+            LOGGER.log(level, pattern, args);
+        }
+    }
+}
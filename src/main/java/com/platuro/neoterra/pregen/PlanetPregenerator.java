@@ -0,0 +1,355 @@
+package com.platuro.neoterra.pregen;
+
+import com.platuro.neoterra.config.WorldGenSettings;
+import com.platuro.neoterra.helpers.NeoTerraLog;
+import com.platuro.neoterra.worldgen.EarthlikeBiomeProvider;
+import com.platuro.neoterra.worldgen.NeoTerraChunkGenerator;
+import com.platuro.neoterra.worldgen.WorldBoundaryHandler;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.gen.ChunkProviderServer;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Generates the whole planet, one region-sized tile (32x32 chunks) at a time.
+ *
+ * The expensive, world-independent part of upcoming tiles - biome lookups and, with
+ * the NeoTerra chunk generator, noise and heights - runs on a ForkJoin pool. The
+ * server thread only commits chunks through the chunk provider, within a time budget
+ * per tick, and unloads each tile once it is done. Progress is written to the world
+ * folder after every tile, so a stopped or crashed run resumes where it left off.
+ *
+ * Each tile also reloads the already generated row and column of chunks on its -x/-z
+ * side, so the chunks along tile borders get all the neighbours they need to populate.
+ */
+public class PlanetPregenerator {
+
+    public static final int TILE_SHIFT  = 5;
+    public static final int TILE_CHUNKS = 1 << TILE_SHIFT;
+
+    /** Blocks generated beyond the teleport lines, which players can see past. */
+    public static final int EDGE_MARGIN = 200;
+
+    public static final int DEFAULT_BUDGET_MS = 40;
+
+    private static final String PROGRESS_FILE = "neoterra_pregen.properties";
+    private static final int LOOKAHEAD_TILES = 2;
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+
+    private static PlanetPregenerator running;
+
+    private final WorldServer world;
+    private final ICommandSender sender;
+    private final ChunkProviderServer chunkProvider;
+    private final NeoTerraChunkGenerator generator;     // null unless NeoTerra generates this world
+    private final EarthlikeBiomeProvider biomeProvider; // null unless NeoTerra provides its biomes
+    private final long budgetNanos;
+
+    private final int minChunkX;
+    private final int maxChunkX;
+    private final int minChunkZ;
+    private final int maxChunkZ;
+    private final int minTileX;
+    private final int minTileZ;
+    private final int tilesX;
+    private final int tileCount;
+    private final long totalChunks;
+
+    private final PregenProgress progress;
+    private final ForkJoinPool pool;
+    private final ArrayDeque<Tile> ahead = new ArrayDeque<>();
+    private int nextTileToPrepare;
+
+    private Tile current;
+    private int cursor;
+    private volatile boolean stopped;
+
+    private final long startNanos = System.nanoTime();
+    private final long startChunks;
+    private long lastReportNanos = startNanos;
+    private long lastReportChunks;
+
+    private PlanetPregenerator(WorldServer world, ICommandSender sender, int budgetMs) throws IOException {
+        this.world = world;
+        this.sender = sender;
+        this.chunkProvider = world.getChunkProvider();
+        this.generator = chunkProvider.chunkGenerator instanceof NeoTerraChunkGenerator
+                ? (NeoTerraChunkGenerator) chunkProvider.chunkGenerator : null;
+        this.biomeProvider = world.getBiomeProvider() instanceof EarthlikeBiomeProvider
+                ? (EarthlikeBiomeProvider) world.getBiomeProvider() : null;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMs);
+
+        WorldGenSettings settings = WorldBoundaryHandler.settingsOf(world);
+        int halfWidth = settings.wrapWidth + EDGE_MARGIN;
+        int halfHeight = settings.wrapZLimit + EDGE_MARGIN;
+        this.minChunkX = -halfWidth >> 4;
+        this.maxChunkX = halfWidth >> 4;
+        this.minChunkZ = -halfHeight >> 4;
+        this.maxChunkZ = halfHeight >> 4;
+
+        this.minTileX = minChunkX >> TILE_SHIFT;
+        this.minTileZ = minChunkZ >> TILE_SHIFT;
+        this.tilesX = (maxChunkX >> TILE_SHIFT) - minTileX + 1;
+        int tilesZ = (maxChunkZ >> TILE_SHIFT) - minTileZ + 1;
+        this.tileCount = tilesX * tilesZ;
+        this.totalChunks = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+
+        File folder = world.getSaveHandler().getWorldDirectory();
+        this.progress = new PregenProgress(new File(folder, PROGRESS_FILE), world.getSeed(),
+                minChunkX, maxChunkX, minChunkZ, maxChunkZ);
+        progress.load();
+        this.nextTileToPrepare = progress.getNextTile();
+        this.startChunks = progress.getChunksDone();
+        this.lastReportChunks = startChunks;
+
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        this.pool = new ForkJoinPool(threads, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("NeoTerra Pregen-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    // ~~~~~~~~~ Lifecycle ~~~~~~~~~
+
+    /** Starts (or resumes) pregeneration of the world; false if one is already running. */
+    public static synchronized boolean start(WorldServer world, ICommandSender sender, int budgetMs) throws IOException {
+        if (running != null) {
+            return false;
+        }
+        running = new PlanetPregenerator(world, sender, budgetMs);
+        MinecraftForge.EVENT_BUS.register(running);
+        running.message(running.progress.getNextTile() > 0
+                ? "Resuming planet pregeneration at tile " + running.progress.getNextTile() + "/" + running.tileCount + "."
+                : "Starting planet pregeneration: " + running.totalChunks + " chunks in " + running.tileCount + " tiles.");
+        return true;
+    }
+
+    /** Stops the running pregeneration, keeping its progress; false if none is running. */
+    public static synchronized boolean stop() {
+        if (running == null) {
+            return false;
+        }
+        running.shutdown("Planet pregeneration stopped at tile " + running.progress.getNextTile() + "/" + running.tileCount + ".");
+        return true;
+    }
+
+    public static synchronized PlanetPregenerator getRunning() {
+        return running;
+    }
+
+    private void shutdown(String message) {
+        stopped = true;
+        MinecraftForge.EVENT_BUS.unregister(this);
+        pool.shutdownNow();
+        if (generator != null) {
+            // Drop handed-off data of tiles that will not be committed now
+            if (current != null) {
+                for (int i = cursor; i < current.interior; i++) {
+                    generator.discardTerrainData(current.xs[i], current.zs[i]);
+                }
+            }
+            for (Tile tile : ahead) {
+                for (int i = 0; i < tile.interior; i++) {
+                    generator.discardTerrainData(tile.xs[i], tile.zs[i]);
+                }
+            }
+        }
+        current = null;
+        ahead.clear();
+        synchronized (PlanetPregenerator.class) {
+            if (running == this) {
+                running = null;
+            }
+        }
+        message(message);
+    }
+
+    // ~~~~~~~~~ Server thread ~~~~~~~~~
+
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) {
+            return;
+        }
+        long deadline = System.nanoTime() + budgetNanos;
+        prepareAhead();
+
+        while (System.nanoTime() < deadline) {
+            if (current == null) {
+                Tile next = ahead.peek();
+                if (next == null) {
+                    shutdown("Planet pregeneration finished: " + progress.getChunksDone() + " chunks.");
+                    return;
+                }
+                if (!next.prepared.isDone()) {
+                    break; // the pool is behind; commit nothing rather than compute here
+                }
+                ahead.poll();
+                current = next;
+                cursor = 0;
+            }
+
+            int x = current.xs[cursor];
+            int z = current.zs[cursor];
+            chunkProvider.provideChunk(x, z);
+            if (generator != null) {
+                generator.discardTerrainData(x, z);
+            }
+            if (++cursor == current.xs.length) {
+                finishTile(current);
+                current = null;
+            }
+        }
+
+        reportIfDue();
+    }
+
+    private void prepareAhead() {
+        while (ahead.size() < LOOKAHEAD_TILES && nextTileToPrepare < tileCount) {
+            Tile tile = createTile(nextTileToPrepare++);
+            tile.prepared = CompletableFuture.runAsync(() -> prepare(tile), pool)
+                    .exceptionally(t -> {
+                        // The commit will simply compute what is missing itself
+                        NeoTerraLog.warn("Preparing pregeneration tile {} failed", tile.index, t);
+                        return null;
+                    });
+            ahead.add(tile);
+        }
+    }
+
+    private void finishTile(Tile tile) {
+        for (int i = 0; i < tile.xs.length; i++) {
+            Chunk chunk = chunkProvider.getLoadedChunk(tile.xs[i], tile.zs[i]);
+            if (chunk != null) {
+                chunkProvider.queueUnload(chunk);
+            }
+        }
+        progress.tileFinished(tile.index, tile.interior);
+        try {
+            progress.save();
+        } catch (IOException e) {
+            NeoTerraLog.warn("Could not save pregeneration progress", e);
+        }
+    }
+
+    private void reportIfDue() {
+        long now = System.nanoTime();
+        if (now - lastReportNanos < REPORT_INTERVAL_NANOS) {
+            return;
+        }
+        message(getStatus(now));
+        lastReportNanos = now;
+        lastReportChunks = progress.getChunksDone();
+    }
+
+    public String getStatus() {
+        return getStatus(System.nanoTime());
+    }
+
+    private String getStatus(long now) {
+        long done = progress.getChunksDone();
+        double recentRate = (done - lastReportChunks) / Math.max(1e-9, (now - lastReportNanos) / 1e9);
+        double sessionRate = (done - startChunks) / Math.max(1e-9, (now - startNanos) / 1e9);
+        String eta = sessionRate > 0 ? formatDuration((long) ((totalChunks - done) / sessionRate)) : "unknown";
+        return String.format("Planet pregeneration: %.1f%% (%d/%d chunks, tile %d/%d), %.1f chunks/s, ETA %s",
+                100.0 * done / totalChunks, done, totalChunks, progress.getNextTile(), tileCount, recentRate, eta);
+    }
+
+    private void message(String text) {
+        NeoTerraLog.info(text);
+        sender.sendMessage(new TextComponentString(text));
+    }
+
+    private static String formatDuration(long seconds) {
+        return String.format("%d:%02d:%02d", seconds / 3600, (seconds / 60) % 60, seconds % 60);
+    }
+
+    // ~~~~~~~~~ Tiles ~~~~~~~~~
+
+    /**
+     * The chunks of one tile, in commit order: first the interior (clipped to the
+     * planet), then the border row and column on the -x/-z side that need reloading.
+     */
+    private Tile createTile(int index) {
+        int tileX = minTileX + index % tilesX;
+        int tileZ = minTileZ + index / tilesX;
+        int x0 = Math.max(minChunkX, tileX << TILE_SHIFT);
+        int z0 = Math.max(minChunkZ, tileZ << TILE_SHIFT);
+        int x1 = Math.min(maxChunkX, (tileX << TILE_SHIFT) + TILE_CHUNKS - 1);
+        int z1 = Math.min(maxChunkZ, (tileZ << TILE_SHIFT) + TILE_CHUNKS - 1);
+        int bx0 = Math.max(minChunkX, x0 - 1);
+        int bz0 = Math.max(minChunkZ, z0 - 1);
+
+        int interior = (x1 - x0 + 1) * (z1 - z0 + 1);
+        int total = (x1 - bx0 + 1) * (z1 - bz0 + 1);
+        Tile tile = new Tile(index, interior, total);
+
+        int n = 0;
+        for (int z = z0; z <= z1; z++) {
+            for (int x = x0; x <= x1; x++) {
+                tile.xs[n] = x;
+                tile.zs[n++] = z;
+            }
+        }
+        for (int z = bz0; z <= z1; z++) {
+            for (int x = bx0; x <= x1; x++) {
+                if (x < x0 || z < z0) {
+                    tile.xs[n] = x;
+                    tile.zs[n++] = z;
+                }
+            }
+        }
+        return tile;
+    }
+
+    /** Pool side: everything about the tile's chunks that does not touch the world. */
+    private void prepare(Tile tile) {
+        IntStream.range(0, tile.interior).parallel().forEach(i -> {
+            if (stopped) {
+                return;
+            }
+            int x = tile.xs[i];
+            int z = tile.zs[i];
+            if (generator != null) {
+                generator.offerTerrainData(generator.generateTerrainData(x, z));
+                if (stopped) {
+                    generator.discardTerrainData(x, z); // raced with shutdown
+                }
+            } else if (biomeProvider != null) {
+                // Vanilla terrain: warm the block and quart biome caches it will read
+                biomeProvider.getBiomes(null, x << 4, z << 4, 16, 16, true);
+                biomeProvider.getBiomesForGeneration(null, (x << 2) - 2, (z << 2) - 2, 10, 10);
+            }
+        });
+    }
+
+    private static final class Tile {
+        final int index;
+        final int interior;
+        final int[] xs;
+        final int[] zs;
+        CompletableFuture<Void> prepared;
+
+        Tile(int index, int interior, int total) {
+            this.index = index;
+            this.interior = interior;
+            this.xs = new int[total];
+            this.zs = new int[total];
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.platuro.neoterra.pregen;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Resume point of a planet pregeneration, stored as a properties file in the world
+ * folder. Written after every finished tile; a run only resumes from it if the seed
+ * and the planet bounds still match.
+ */
+public class PregenProgress {
+
+    private final File file;
+    private final long seed;
+    private final int minChunkX;
+    private final int maxChunkX;
+    private final int minChunkZ;
+    private final int maxChunkZ;
+
+    private int nextTile;
+    private long chunksDone;
+
+    public PregenProgress(File file, long seed, int minChunkX, int maxChunkX, int minChunkZ, int maxChunkZ) {
+        this.file = file;
+        this.seed = seed;
+        this.minChunkX = minChunkX;
+        this.maxChunkX = maxChunkX;
+        this.minChunkZ = minChunkZ;
+        this.maxChunkZ = maxChunkZ;
+    }
+
+    /** Loads the saved position if it belongs to the same planet; otherwise starts from tile 0. */
+    public void load() throws IOException {
+        nextTile = 0;
+        chunksDone = 0;
+        if (!file.isFile()) {
+            return;
+        }
+        Properties props = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            props.load(in);
+        }
+        try {
+            boolean samePlanet = Long.parseLong(props.getProperty("seed")) == seed
+                    && Integer.parseInt(props.getProperty("minChunkX")) == minChunkX
+                    && Integer.parseInt(props.getProperty("maxChunkX")) == maxChunkX
+                    && Integer.parseInt(props.getProperty("minChunkZ")) == minChunkZ
+                    && Integer.parseInt(props.getProperty("maxChunkZ")) == maxChunkZ;
+            if (samePlanet) {
+                nextTile = Integer.parseInt(props.getProperty("nextTile"));
+                chunksDone = Long.parseLong(props.getProperty("chunksDone"));
+            }
+        } catch (RuntimeException e) {
+            // Missing or malformed keys: start over
+            nextTile = 0;
+            chunksDone = 0;
+        }
+    }
+
+    /** Writes to a temporary file first, so a crash mid-write never leaves a broken file. */
+    public void save() throws IOException {
+        Properties props = new Properties();
+        props.setProperty("seed", Long.toString(seed));
+        props.setProperty("minChunkX", Integer.toString(minChunkX));
+        props.setProperty("maxChunkX", Integer.toString(maxChunkX));
+        props.setProperty("minChunkZ", Integer.toString(minChunkZ));
+        props.setProperty("maxChunkZ", Integer.toString(maxChunkZ));
+        props.setProperty("nextTile", Integer.toString(nextTile));
+        props.setProperty("chunksDone", Long.toString(chunksDone));
+
+        File tmp = new File(file.getPath() + ".tmp");
+        try (OutputStream out = new FileOutputStream(tmp)) {
+            props.store(out, "NeoTerra planet pregeneration");
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public int getNextTile() {
+        return nextTile;
+    }
+
+    public long getChunksDone() {
+        return chunksDone;
+    }
+
+    public void tileFinished(int tile, long chunks) {
+        nextTile = tile + 1;
+        chunksDone += chunks;
+    }
+}
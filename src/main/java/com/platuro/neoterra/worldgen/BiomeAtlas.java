@@ -0,0 +1,479 @@
+package com.platuro.neoterra.worldgen;
+
+import com.platuro.neoterra.helpers.BiomeIds;
+import net.minecraft.world.biome.Biome;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * A coarse map of the whole planet: every connected patch of one biome as a
+ * {@link Region} with its centroid and area, indexed per biome on a grid so nearest
+ * and area queries take milliseconds instead of sampling the noise.
+ *
+ * The planet is sampled every {@link #getSampleStep} blocks (16, or coarser on very
+ * large planets), in tiles of 64x64 samples built in parallel. Patches are first
+ * found per tile and then joined across tile borders. Regions smaller than a sample
+ * can be missed, so treat results as a map, not as exact biome boundaries.
+ *
+ * Immutable once built.
+ */
+public final class BiomeAtlas {
+
+    private static final int MIN_STEP = 16;
+    private static final long MAX_SAMPLES = 1L << 22;
+
+    private static final int TILE_SAMPLES = 64;
+
+    private final int step;
+    private final int minX;
+    private final int minZ;
+    private final int tilesX;
+    private final int tilesZ;
+    private final Tile[] tiles;
+
+    private final long totalSamples;
+    private final Map<Biome, BiomeIndex> indexes = new HashMap<>();
+
+    /** One connected patch of a biome, in block coordinates. */
+    public static final class Region {
+        public final Biome biome;
+        /** Centroid of the patch; may lie outside it for ring or crescent shapes. */
+        public final int centerX;
+        public final int centerZ;
+        /** A sampled position inside the patch, as close to the centroid as sampled. */
+        public final int anchorX;
+        public final int anchorZ;
+        /** Approximate area in square blocks. */
+        public final long area;
+        public final int minX;
+        public final int minZ;
+        public final int maxX;
+        public final int maxZ;
+
+        Region(Biome biome, int centerX, int centerZ, int anchorX, int anchorZ, long area,
+               int minX, int minZ, int maxX, int maxZ) {
+            this.biome = biome;
+            this.centerX = centerX;
+            this.centerZ = centerZ;
+            this.anchorX = anchorX;
+            this.anchorZ = anchorZ;
+            this.area = area;
+            this.minX = minX;
+            this.minZ = minZ;
+            this.maxX = maxX;
+            this.maxZ = maxZ;
+        }
+
+        public double distanceTo(int x, int z) {
+            double dx = centerX - x;
+            double dz = centerZ - z;
+            return Math.sqrt(dx * dx + dz * dz);
+        }
+    }
+
+    private BiomeAtlas(int step, int minX, int minZ, int tilesX, int tilesZ, Tile[] tiles) {
+        this.step = step;
+        this.minX = minX;
+        this.minZ = minZ;
+        this.tilesX = tilesX;
+        this.tilesZ = tilesZ;
+        this.tiles = tiles;
+
+        long samples = 0;
+        for (Tile tile : tiles) {
+            samples += (long) tile.width * tile.depth;
+        }
+        this.totalSamples = samples;
+        joinTiles();
+    }
+
+    /**
+     * Samples the blocks in [-halfWidth, halfWidth] x [-halfHeight, halfHeight], spread
+     * over the common fork-join pool.
+     */
+    static BiomeAtlas build(EarthlikeBiomeProvider provider, int halfWidth, int halfHeight) {
+        int step = sampleStep(halfWidth, halfHeight);
+        int minX = -(halfWidth / step) * step;
+        int minZ = -(halfHeight / step) * step;
+        int samplesX = halfWidth / step * 2 + 1;
+        int samplesZ = halfHeight / step * 2 + 1;
+        int tilesX = (samplesX + TILE_SAMPLES - 1) / TILE_SAMPLES;
+        int tilesZ = (samplesZ + TILE_SAMPLES - 1) / TILE_SAMPLES;
+
+        Tile[] tiles = new Tile[tilesX * tilesZ];
+        IntStream.range(0, tiles.length).parallel().forEach(i -> {
+            int tx = i % tilesX;
+            int tz = i / tilesX;
+            int width = Math.min(TILE_SAMPLES, samplesX - tx * TILE_SAMPLES);
+            int depth = Math.min(TILE_SAMPLES, samplesZ - tz * TILE_SAMPLES);
+            tiles[i] = Tile.sample(provider, minX + tx * TILE_SAMPLES * step, minZ + tz * TILE_SAMPLES * step,
+                    width, depth, step);
+        });
+        return new BiomeAtlas(step, minX, minZ, tilesX, tilesZ, tiles);
+    }
+
+    /** {@link #MIN_STEP}, doubled until the planet takes at most {@link #MAX_SAMPLES} samples. */
+    private static int sampleStep(int halfWidth, int halfHeight) {
+        int step = MIN_STEP;
+        while ((long) (halfWidth * 2 / step + 1) * (halfHeight * 2 / step + 1) > MAX_SAMPLES) {
+            step <<= 1;
+        }
+        return step;
+    }
+
+    /** Distance between samples, in blocks. */
+    public int getSampleStep() {
+        return step;
+    }
+
+    /**
+     * Up to {@code count} regions of the biome, nearest centroid to (x, z) first.
+     */
+    public List<Region> findNearest(Biome biome, int x, int z, int count) {
+        BiomeIndex index = indexes.get(biome);
+        return index == null || count <= 0 ? Collections.emptyList() : index.nearest(x, z, count);
+    }
+
+    /** Every region of the biome, largest first. */
+    public List<Region> getRegions(Biome biome) {
+        BiomeIndex index = indexes.get(biome);
+        return index == null ? Collections.emptyList() : Collections.unmodifiableList(index.bySize);
+    }
+
+    /** Approximate area of every biome on the planet in square blocks, largest first. */
+    public Map<Biome, Long> getAreas() {
+        List<BiomeIndex> sorted = new ArrayList<>(indexes.values());
+        sorted.sort(Comparator.comparingLong((BiomeIndex index) -> index.area).reversed());
+        Map<Biome, Long> areas = new LinkedHashMap<>();
+        for (BiomeIndex index : sorted) {
+            areas.put(index.biome, index.area);
+        }
+        return areas;
+    }
+
+    /** Share of the sampled planet covered by the biome, from 0 to 1. */
+    public double getShare(Biome biome) {
+        BiomeIndex index = indexes.get(biome);
+        return index == null ? 0.0 : (double) index.area / ((double) totalSamples * step * step);
+    }
+
+    // ~~~~~~~~~ Joining patches across tiles ~~~~~~~~~
+
+    private void joinTiles() {
+        int[] firstPatch = new int[tiles.length + 1];
+        for (int i = 0; i < tiles.length; i++) {
+            firstPatch[i + 1] = firstPatch[i] + tiles[i].patches;
+        }
+        int[] parent = new int[firstPatch[tiles.length]];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+
+        for (int tz = 0; tz < tilesZ; tz++) {
+            for (int tx = 0; tx < tilesX; tx++) {
+                int i = tz * tilesX + tx;
+                Tile tile = tiles[i];
+                if (tx + 1 < tilesX) {
+                    Tile east = tiles[i + 1];
+                    for (int row = 0; row < tile.depth; row++) {
+                        joinSamples(parent, tile, firstPatch[i], tile.labelAt(tile.width - 1, row),
+                                east, firstPatch[i + 1], east.labelAt(0, row));
+                    }
+                }
+                if (tz + 1 < tilesZ) {
+                    Tile south = tiles[i + tilesX];
+                    for (int col = 0; col < tile.width; col++) {
+                        joinSamples(parent, tile, firstPatch[i], tile.labelAt(col, tile.depth - 1),
+                                south, firstPatch[i + tilesX], south.labelAt(col, 0));
+                    }
+                }
+            }
+        }
+
+        // Sum the patches of each joined region into its root
+        int patches = parent.length;
+        long[] sumX = new long[patches];
+        long[] sumZ = new long[patches];
+        long[] count = new long[patches];
+        int[] bounds = new int[patches * 4];
+        for (int i = 0; i < tiles.length; i++) {
+            Tile tile = tiles[i];
+            for (int p = 0; p < tile.patches; p++) {
+                int root = find(parent, firstPatch[i] + p);
+                boolean first = count[root] == 0;
+                sumX[root] += tile.sumX[p];
+                sumZ[root] += tile.sumZ[p];
+                count[root] += tile.count[p];
+                int b = root * 4;
+                bounds[b]     = first ? tile.bounds[p * 4]     : Math.min(bounds[b],     tile.bounds[p * 4]);
+                bounds[b + 1] = first ? tile.bounds[p * 4 + 1] : Math.min(bounds[b + 1], tile.bounds[p * 4 + 1]);
+                bounds[b + 2] = first ? tile.bounds[p * 4 + 2] : Math.max(bounds[b + 2], tile.bounds[p * 4 + 2]);
+                bounds[b + 3] = first ? tile.bounds[p * 4 + 3] : Math.max(bounds[b + 3], tile.bounds[p * 4 + 3]);
+            }
+        }
+
+        // The anchor is the patch anchor nearest the joined centroid
+        long[] anchorDist = new long[patches];
+        int[] anchor = new int[patches * 2];
+        Arrays.fill(anchorDist, Long.MAX_VALUE);
+        for (int i = 0; i < tiles.length; i++) {
+            Tile tile = tiles[i];
+            for (int p = 0; p < tile.patches; p++) {
+                int root = find(parent, firstPatch[i] + p);
+                long dx = tile.anchors[p * 2] - sumX[root] / count[root];
+                long dz = tile.anchors[p * 2 + 1] - sumZ[root] / count[root];
+                if (dx * dx + dz * dz < anchorDist[root]) {
+                    anchorDist[root] = dx * dx + dz * dz;
+                    anchor[root * 2] = tile.anchors[p * 2];
+                    anchor[root * 2 + 1] = tile.anchors[p * 2 + 1];
+                }
+            }
+        }
+
+        Map<Biome, List<Region>> regions = new HashMap<>();
+        for (int i = 0; i < tiles.length; i++) {
+            Tile tile = tiles[i];
+            for (int p = 0; p < tile.patches; p++) {
+                int id = firstPatch[i] + p;
+                if (find(parent, id) != id) continue;
+                Biome biome = BiomeIds.decode(tile.ids[p]);
+                regions.computeIfAbsent(biome, b -> new ArrayList<>()).add(new Region(biome,
+                        (int) (sumX[id] / count[id]), (int) (sumZ[id] / count[id]),
+                        anchor[id * 2], anchor[id * 2 + 1], count[id] * step * step,
+                        bounds[id * 4], bounds[id * 4 + 1], bounds[id * 4 + 2], bounds[id * 4 + 3]));
+            }
+        }
+        for (Map.Entry<Biome, List<Region>> entry : regions.entrySet()) {
+            indexes.put(entry.getKey(), new BiomeIndex(entry.getKey(), entry.getValue(), TILE_SAMPLES * step));
+        }
+    }
+
+    private static void joinSamples(int[] parent, Tile a, int firstA, int labelA, Tile b, int firstB, int labelB) {
+        if (a.ids[labelA] == b.ids[labelB]) {
+            int rootA = find(parent, firstA + labelA);
+            int rootB = find(parent, firstB + labelB);
+            if (rootA != rootB) {
+                parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+            }
+        }
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    // ~~~~~~~~~ Tiles ~~~~~~~~~
+
+    /** The patches found in one tile of samples, by per-tile label. */
+    private static final class Tile {
+        final int width;
+        final int depth;
+        final short[] labels;
+
+        int patches;
+        byte[] ids;
+        long[] sumX;
+        long[] sumZ;
+        int[] count;
+        int[] bounds;  // minX, minZ, maxX, maxZ per patch
+        int[] anchors; // x, z per patch
+
+        private Tile(int width, int depth) {
+            this.width = width;
+            this.depth = depth;
+            this.labels = new short[width * depth];
+        }
+
+        int labelAt(int col, int row) {
+            return labels[row * width + col];
+        }
+
+        static Tile sample(EarthlikeBiomeProvider provider, int x0, int z0, int width, int depth, int step) {
+            int cells = width * depth;
+            Biome[] biomes = new Biome[cells];
+            provider.pickBiomes(biomes, x0, z0, width, depth, step);
+            byte[] sampled = new byte[cells];
+            for (int i = 0; i < cells; i++) {
+                sampled[i] = BiomeIds.encode(biomes[i]);
+            }
+
+            Tile tile = new Tile(width, depth);
+            tile.label(sampled, x0, z0, step);
+            return tile;
+        }
+
+        /** Flood-fills 4-connected runs of equal IDs and sums up each patch. */
+        private void label(byte[] sampled, int x0, int z0, int step) {
+            int cells = width * depth;
+            Arrays.fill(labels, (short) -1);
+            int[] stack = new int[cells];
+            int[] visited = new int[cells];
+            int visitedCount = 0;
+            ids = new byte[cells];
+            sumX = new long[cells];
+            sumZ = new long[cells];
+            count = new int[cells];
+            bounds = new int[cells * 4];
+            anchors = new int[cells * 2];
+
+            for (int start = 0; start < cells; start++) {
+                if (labels[start] >= 0) continue;
+                short label = (short) patches++;
+                byte id = sampled[start];
+                ids[label] = id;
+                bounds[label * 4] = bounds[label * 4 + 1] = Integer.MAX_VALUE;
+                bounds[label * 4 + 2] = bounds[label * 4 + 3] = Integer.MIN_VALUE;
+
+                int top = 0;
+                int firstMember = visitedCount;
+                stack[top++] = start;
+                labels[start] = label;
+                while (top > 0) {
+                    int i = stack[--top];
+                    int col = i % width;
+                    int row = i / width;
+                    int x = x0 + col * step;
+                    int z = z0 + row * step;
+                    sumX[label] += x;
+                    sumZ[label] += z;
+                    count[label]++;
+                    bounds[label * 4]     = Math.min(bounds[label * 4], x);
+                    bounds[label * 4 + 1] = Math.min(bounds[label * 4 + 1], z);
+                    bounds[label * 4 + 2] = Math.max(bounds[label * 4 + 2], x);
+                    bounds[label * 4 + 3] = Math.max(bounds[label * 4 + 3], z);
+                    visited[visitedCount++] = i;
+
+                    if (col > 0 && labels[i - 1] < 0 && sampled[i - 1] == id)                 { labels[i - 1] = label; stack[top++] = i - 1; }
+                    if (col + 1 < width && labels[i + 1] < 0 && sampled[i + 1] == id)         { labels[i + 1] = label; stack[top++] = i + 1; }
+                    if (row > 0 && labels[i - width] < 0 && sampled[i - width] == id)         { labels[i - width] = label; stack[top++] = i - width; }
+                    if (row + 1 < depth && labels[i + width] < 0 && sampled[i + width] == id) { labels[i + width] = label; stack[top++] = i + width; }
+                }
+
+                long cx = sumX[label] / count[label];
+                long cz = sumZ[label] / count[label];
+                long best = Long.MAX_VALUE;
+                for (int m = firstMember; m < visitedCount; m++) {
+                    int x = x0 + visited[m] % width * step;
+                    int z = z0 + visited[m] / width * step;
+                    long dx = x - cx;
+                    long dz = z - cz;
+                    if (dx * dx + dz * dz < best) {
+                        best = dx * dx + dz * dz;
+                        anchors[label * 2] = x;
+                        anchors[label * 2 + 1] = z;
+                    }
+                }
+            }
+
+            ids = Arrays.copyOf(ids, patches);
+            sumX = Arrays.copyOf(sumX, patches);
+            sumZ = Arrays.copyOf(sumZ, patches);
+            count = Arrays.copyOf(count, patches);
+            bounds = Arrays.copyOf(bounds, patches * 4);
+            anchors = Arrays.copyOf(anchors, patches * 2);
+        }
+    }
+
+    // ~~~~~~~~~ Per-biome index ~~~~~~~~~
+
+    /** The regions of one biome, bucketed by centroid on a square grid. */
+    private static final class BiomeIndex {
+        final Biome biome;
+        final List<Region> bySize;
+        final long area;
+        final int cellSize;
+        final Map<Long, List<Region>> cells = new HashMap<>();
+        final int minCellX;
+        final int minCellZ;
+        final int maxCellX;
+        final int maxCellZ;
+
+        BiomeIndex(Biome biome, List<Region> regions, int cellSize) {
+            this.biome = biome;
+            this.cellSize = cellSize;
+            this.bySize = new ArrayList<>(regions);
+            bySize.sort(Comparator.comparingLong((Region region) -> region.area).reversed());
+
+            long total = 0;
+            int cellMinX = Integer.MAX_VALUE, cellMinZ = Integer.MAX_VALUE;
+            int cellMaxX = Integer.MIN_VALUE, cellMaxZ = Integer.MIN_VALUE;
+            for (Region region : regions) {
+                total += region.area;
+                int cx = Math.floorDiv(region.centerX, cellSize);
+                int cz = Math.floorDiv(region.centerZ, cellSize);
+                cells.computeIfAbsent(BiomeRegionCache.pack(cx, cz), k -> new ArrayList<>()).add(region);
+                cellMinX = Math.min(cellMinX, cx);
+                cellMinZ = Math.min(cellMinZ, cz);
+                cellMaxX = Math.max(cellMaxX, cx);
+                cellMaxZ = Math.max(cellMaxZ, cz);
+            }
+            this.area = total;
+            this.minCellX = cellMinX;
+            this.minCellZ = cellMinZ;
+            this.maxCellX = cellMaxX;
+            this.maxCellZ = cellMaxZ;
+        }
+
+        /**
+         * Walks square rings of cells outwards from the query's cell. Every centroid in
+         * ring r + 1 or beyond is at least r cells away, so the walk stops once the
+         * k-th best distance is within that.
+         */
+        List<Region> nearest(int x, int z, int k) {
+            int qx = Math.floorDiv(x, cellSize);
+            int qz = Math.floorDiv(z, cellSize);
+            int maxRing = Math.max(Math.max(Math.abs(qx - minCellX), Math.abs(qx - maxCellX)),
+                    Math.max(Math.abs(qz - minCellZ), Math.abs(qz - maxCellZ)));
+
+            TreeMap<Double, List<Region>> best = new TreeMap<>();
+            int found = 0;
+            for (int ring = 0; ring <= maxRing; ring++) {
+                for (int cz = qz - ring; cz <= qz + ring; cz++) {
+                    boolean edgeRow = cz == qz - ring || cz == qz + ring;
+                    for (int cx = qx - ring; cx <= qx + ring; cx += edgeRow || ring == 0 ? 1 : 2 * ring) {
+                        List<Region> bucket = cells.get(BiomeRegionCache.pack(cx, cz));
+                        if (bucket == null) continue;
+                        for (Region region : bucket) {
+                            best.computeIfAbsent(region.distanceTo(x, z), d -> new ArrayList<>(1)).add(region);
+                            found++;
+                        }
+                    }
+                }
+                if (found >= k && kthDistance(best, k) <= (double) ring * cellSize) {
+                    break;
+                }
+            }
+
+            List<Region> result = new ArrayList<>(k);
+            for (List<Region> atDistance : best.values()) {
+                for (Region region : atDistance) {
+                    if (result.size() == k) return result;
+                    result.add(region);
+                }
+            }
+            return result;
+        }
+
+        private static double kthDistance(TreeMap<Double, List<Region>> best, int k) {
+            int seen = 0;
+            for (Map.Entry<Double, List<Region>> entry : best.entrySet()) {
+                seen += entry.getValue().size();
+                if (seen >= k) return entry.getKey();
+            }
+            return Double.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.platuro.neoterra.worldgen;
+
+import net.minecraft.init.Biomes;
+import net.minecraft.world.biome.Biome;
+
+/**
+ * Quart-resolution biome field for one region of 16x16 quart cells (4x4 chunks)
+ * plus a sampling margin. Base height, height variation and the land mask are
+ * stored as summed-area tables, so the average over any square window inside
+ * the field costs four array reads no matter how large the window is.
+ *
+ * Fields are immutable once built and can be shared between threads.
+ */
+public class BiomeBlendField {
+
+    public static final int REGION_SHIFT = 4;
+    public static final int REGION_SIZE  = 1 << REGION_SHIFT;
+    public static final int MARGIN       = 3;
+
+    private static final int SIZE     = REGION_SIZE + MARGIN * 2;
+    private static final int SAT_SIZE = SIZE + 1;
+
+    private final int originQuartX;
+    private final int originQuartZ;
+    private final Biome[] biomes;
+    private final double[] baseHeightSat      = new double[SAT_SIZE * SAT_SIZE];
+    private final double[] heightVariationSat = new double[SAT_SIZE * SAT_SIZE];
+    private final double[] landSat            = new double[SAT_SIZE * SAT_SIZE];
+
+    public BiomeBlendField(EarthlikeBiomeProvider provider, int regionX, int regionZ) {
+        this.originQuartX = (regionX << REGION_SHIFT) - MARGIN;
+        this.originQuartZ = (regionZ << REGION_SHIFT) - MARGIN;
+        this.biomes = provider.getBiomesForGeneration(null, originQuartX, originQuartZ, SIZE, SIZE);
+
+        for (int z = 0; z < SIZE; z++) {
+            double baseRow = 0;
+            double variationRow = 0;
+            double landRow = 0;
+            for (int x = 0; x < SIZE; x++) {
+                Biome biome = biomes[z * SIZE + x];
+                baseRow      += biome.getBaseHeight();
+                variationRow += biome.getHeightVariation();
+                landRow      += isLand(biome) ? 1 : 0;
+
+                int above = z * SAT_SIZE + x + 1;
+                int here  = above + SAT_SIZE;
+                baseHeightSat[here]      = baseHeightSat[above] + baseRow;
+                heightVariationSat[here] = heightVariationSat[above] + variationRow;
+                landSat[here]            = landSat[above] + landRow;
+            }
+        }
+    }
+
+    /** Region containing the given quart coordinate. */
+    public static int regionOf(int quart) {
+        return quart >> REGION_SHIFT;
+    }
+
+    /** Biome at an absolute quart coordinate; must lie inside the region plus margin. */
+    public Biome getBiome(int quartX, int quartZ) {
+        return biomes[(quartZ - originQuartZ) * SIZE + quartX - originQuartX];
+    }
+
+    /** Mean base height over the (2 * radius + 1)^2 window centred on the quart cell. */
+    public float getAverageBaseHeight(int quartX, int quartZ, int radius) {
+        return (float) (windowSum(baseHeightSat, quartX, quartZ, radius) / windowArea(radius));
+    }
+
+    /** Mean height variation over the (2 * radius + 1)^2 window centred on the quart cell. */
+    public float getAverageHeightVariation(int quartX, int quartZ, int radius) {
+        return (float) (windowSum(heightVariationSat, quartX, quartZ, radius) / windowArea(radius));
+    }
+
+    /** Share of non-ocean cells in the (2 * radius + 1)^2 window centred on the quart cell. */
+    public float getLandFraction(int quartX, int quartZ, int radius) {
+        return (float) (windowSum(landSat, quartX, quartZ, radius) / windowArea(radius));
+    }
+
+    private double windowSum(double[] sat, int quartX, int quartZ, int radius) {
+        int x0 = quartX - radius - originQuartX;
+        int z0 = quartZ - radius - originQuartZ;
+        int x1 = x0 + radius * 2 + 1;
+        int z1 = z0 + radius * 2 + 1;
+        return sat[z1 * SAT_SIZE + x1] - sat[z0 * SAT_SIZE + x1]
+                - sat[z1 * SAT_SIZE + x0] + sat[z0 * SAT_SIZE + x0];
+    }
+
+    private static int windowArea(int radius) {
+        int side = radius * 2 + 1;
+        return side * side;
+    }
+
+    private static boolean isLand(Biome biome) {
+        return biome != Biomes.OCEAN && biome != Biomes.DEEP_OCEAN;
+    }
+}
@@ -0,0 +1,123 @@
+package com.platuro.neoterra.worldgen;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Thread-safe cache of 16x16 biome ID regions, keyed by packed region coordinates.
+ *
+ * The cache is set-associative: a key hashes to a set of {@link #WAYS} slots and,
+ * when the set is full, the least recently used slot is replaced. Lookups are
+ * lock-free; inserts take one of {@link #STRIPES} striped locks. Regions are
+ * computed outside of any lock, so two threads missing on the same region may
+ * both compute it - the result is deterministic, so either copy is fine.
+ *
+ * Returned arrays are shared and must not be modified.
+ */
+public class BiomeRegionCache {
+
+    /** Fills the 16x16 region at (regionX, regionZ) with biome IDs, indexed z * 16 + x. */
+    public interface RegionFiller {
+        void fill(int regionX, int regionZ, byte[] ids);
+    }
+
+    public static final int REGION_SHIFT = 4;
+    public static final int REGION_SIZE  = 1 << REGION_SHIFT;
+    public static final int REGION_MASK  = REGION_SIZE - 1;
+
+    private static final int WAYS    = 4;
+    private static final int STRIPES = 64;
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final Object[] locks = new Object[STRIPES];
+    private final int setMask;
+    private final RegionFiller filler;
+
+    // Advances on every miss, so an entry's stamp is its age in misses
+    private final AtomicLong clock = new AtomicLong();
+
+    public BiomeRegionCache(int maxRegions, RegionFiller filler) {
+        int sets = Integer.highestOneBit(Math.max(1, maxRegions / WAYS));
+        this.slots = new AtomicReferenceArray<>(sets * WAYS);
+        this.setMask = sets - 1;
+        this.filler = filler;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public byte[] getRegion(int regionX, int regionZ) {
+        long key = pack(regionX, regionZ);
+        int set = hash(key) & setMask;
+        int base = set * WAYS;
+
+        for (int i = 0; i < WAYS; i++) {
+            Entry entry = slots.get(base + i);
+            if (entry == null) break;
+            if (entry.key == key) {
+                entry.lastUsed = clock.get();
+                return entry.ids;
+            }
+        }
+
+        byte[] ids = new byte[REGION_SIZE * REGION_SIZE];
+        filler.fill(regionX, regionZ, ids);
+        insert(set, new Entry(key, ids, clock.incrementAndGet()));
+        return ids;
+    }
+
+    /** Biome ID of a single cell, in the cell units this cache was built for. */
+    public byte getId(int cellX, int cellZ) {
+        byte[] ids = getRegion(cellX >> REGION_SHIFT, cellZ >> REGION_SHIFT);
+        return ids[(cellZ & REGION_MASK) << REGION_SHIFT | (cellX & REGION_MASK)];
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    private void insert(int set, Entry entry) {
+        int base = set * WAYS;
+        synchronized (locks[set & (STRIPES - 1)]) {
+            int victim = base;
+            long oldest = Long.MAX_VALUE;
+            for (int i = 0; i < WAYS; i++) {
+                Entry current = slots.get(base + i);
+                if (current == null) {
+                    victim = base + i;
+                    break;
+                }
+                if (current.key == entry.key) {
+                    return; // Another thread got there first
+                }
+                if (current.lastUsed < oldest) {
+                    oldest = current.lastUsed;
+                    victim = base + i;
+                }
+            }
+            slots.set(victim, entry);
+        }
+    }
+
+    public static long pack(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32);
+    }
+
+    private static final class Entry {
+        final long key;
+        final byte[] ids;
+        long lastUsed; // Racy on purpose, only steers eviction
+
+        Entry(long key, byte[] ids, long lastUsed) {
+            this.key = key;
+            this.ids = ids;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.platuro.neoterra.worldgen;
+
+import com.platuro.neoterra.config.WorldGenSettings;
+import com.platuro.neoterra.helpers.BiomeIds;
+import net.minecraft.world.biome.Biome;
+
+/**
+ * Weighted biome choice for one climate zone, compiled once from the zone's biome
+ * list and the weights of a {@link WorldGenSettings} snapshot.
+ *
+ * Holds the running weight sums and the matching biome ids side by side, so a pick
+ * is a binary search instead of two passes over a weight map. Prefix sums are
+ * accumulated in list order, so {@link #pick} returns exactly what the old linear
+ * scan did.
+ */
+public final class BiomeSelectionTable {
+
+    private final double[] cumulative;
+    private final byte[] ids;
+    private final double totalWeight;
+
+    private BiomeSelectionTable(double[] cumulative, byte[] ids) {
+        this.cumulative = cumulative;
+        this.ids = ids;
+        this.totalWeight = cumulative[cumulative.length - 1];
+    }
+
+    public static BiomeSelectionTable compile(ClimateZone zone, Biome[] biomes, WorldGenSettings settings) {
+        if (biomes.length == 0) {
+            throw new IllegalArgumentException("Climate zone " + zone + " has no biomes");
+        }
+        double[] cumulative = new double[biomes.length];
+        byte[] ids = new byte[biomes.length];
+        double sum = 0;
+        for (int i = 0; i < biomes.length; i++) {
+            sum += settings.getBiomeWeight(zone, biomes[i]);
+            cumulative[i] = sum;
+            ids[i] = BiomeIds.encode(biomes[i]);
+        }
+        return new BiomeSelectionTable(cumulative, ids);
+    }
+
+    /**
+     * Biome for a patch noise value in [-1..+1]: the first entry whose running weight
+     * reaches the value's share of the total, or the last entry if none does.
+     */
+    public Biome pick(double val) {
+        double t = (val + 1.0) / 2.0; // Normalize to range [0,1]
+        double target = t * totalWeight;
+
+        int lo = 0;
+        int hi = cumulative.length - 1;
+        if (!(target <= cumulative[hi])) {
+            return BiomeIds.decode(ids[hi]);
+        }
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (target <= cumulative[mid]) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return BiomeIds.decode(ids[lo]);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+}
@@ -0,0 +1,75 @@
+package com.platuro.neoterra.worldgen;
+
+import com.platuro.neoterra.config.BiomeConfig;
+import com.platuro.neoterra.helpers.NeoTerraLog;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+
+/**
+ * Debug aid for cascading worldgen. While NeoTerra populates a chunk or places ores,
+ * every chunk that gets loaded (or generated) is counted against that stage and logged
+ * with the chunk being decorated. Only active with {@code debug.detectCascadingLoads}.
+ *
+ * Stages nest: a cascade can populate another chunk, which pushes its own stage.
+ * Everything here runs on the server thread, like chunk population itself.
+ */
+public final class CascadeDetector {
+
+    public enum Stage {
+        POPULATE,
+        ORE;
+
+        final String counter = "cascade." + name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final Deque<Frame> ACTIVE = new ArrayDeque<>();
+
+    private CascadeDetector() {}
+
+    public static boolean enter(Stage stage, World world, int chunkX, int chunkZ) {
+        if (!BiomeConfig.DEBUG_CASCADING_LOADS) return false;
+        ACTIVE.push(new Frame(stage, world, chunkX, chunkZ));
+        return true;
+    }
+
+    /** Closes the stage opened by an {@link #enter} call that returned true. */
+    public static void exit() {
+        ACTIVE.poll();
+    }
+
+    public static long getCount(Stage stage) {
+        return NeoTerraLog.getCount(stage.counter);
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        Frame frame = ACTIVE.peek();
+        if (frame == null || event.getWorld() != frame.world) return;
+
+        Chunk chunk = event.getChunk();
+        NeoTerraLog.count(frame.stage.counter);
+        long count = NeoTerraLog.getCount(frame.stage.counter);
+        NeoTerraLog.warn("Cascading chunk load during {} of chunk [{}, {}]: loaded [{}, {}] ({} so far)",
+                frame.stage, frame.chunkX, frame.chunkZ, chunk.x, chunk.z, count);
+    }
+
+    private static final class Frame {
+        final Stage stage;
+        final World world;
+        final int chunkX;
+        final int chunkZ;
+
+        Frame(Stage stage, World world, int chunkX, int chunkZ) {
+            this.stage = stage;
+            this.world = world;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+    }
+}
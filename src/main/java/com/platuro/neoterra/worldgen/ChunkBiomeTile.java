@@ -0,0 +1,55 @@
+package com.platuro.neoterra.worldgen;
+
+import net.minecraft.world.biome.Biome;
+
+/**
+ * All biome data one chunk needs during generation, fetched up front:
+ *  - the {@link BiomeBlendField} of the region containing the chunk, used for
+ *    the neighbourhood lookups (blending, coastline smoothing)
+ *  - the 16x16 column biomes, used for ocean depth, the river override and the
+ *    chunk biome array
+ */
+public class ChunkBiomeTile {
+
+    private final BiomeBlendField field;
+    private final int originQuartX;
+    private final int originQuartZ;
+    private final Biome[] columnBiomes;
+
+    public ChunkBiomeTile(EarthlikeBiomeProvider provider, BiomeBlendField field, int chunkX, int chunkZ) {
+        this.field = field;
+        this.originQuartX = chunkX << 2;
+        this.originQuartZ = chunkZ << 2;
+        this.columnBiomes = provider.getBiomes(null, chunkX << 4, chunkZ << 4, 16, 16, true);
+    }
+
+    /** Biome of the column at local chunk coordinates (0..15). */
+    public Biome getColumnBiome(int localX, int localZ) {
+        return columnBiomes[localZ * 16 + localX];
+    }
+
+    /**
+     * Biome of the quart cell containing the given column, shifted by (dx, dz) quart cells.
+     * Offsets must stay within +-{@link BiomeBlendField#MARGIN}.
+     */
+    public Biome getQuartBiome(int localX, int localZ, int dx, int dz) {
+        return field.getBiome(getQuartX(localX) + dx, getQuartZ(localZ) + dz);
+    }
+
+    public int getQuartX(int localX) {
+        return originQuartX + (localX >> 2);
+    }
+
+    public int getQuartZ(int localZ) {
+        return originQuartZ + (localZ >> 2);
+    }
+
+    public BiomeBlendField getBlendField() {
+        return field;
+    }
+
+    /** Column biomes in chunk biome array order (z * 16 + x). */
+    public Biome[] getColumnBiomes() {
+        return columnBiomes;
+    }
+}
@@ -0,0 +1,41 @@
+package com.platuro.neoterra.worldgen;
+
+import net.minecraft.world.chunk.ChunkPrimer;
+
+/**
+ * A generated but not yet created chunk: its blocks in a {@link ChunkPrimer} and its
+ * biome array. Produced off the server thread by
+ * {@link NeoTerraChunkGenerator#generateChunkDataAsync}; turning it into a Chunk
+ * ({@link NeoTerraChunkGenerator#createChunk}) is left to the server thread.
+ */
+public class ChunkPrimerData {
+
+    private final int chunkX;
+    private final int chunkZ;
+    private final ChunkPrimer primer;
+    private final byte[] biomeIds;
+
+    public ChunkPrimerData(int chunkX, int chunkZ, ChunkPrimer primer, byte[] biomeIds) {
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        this.primer = primer;
+        this.biomeIds = biomeIds;
+    }
+
+    public int getChunkX() {
+        return chunkX;
+    }
+
+    public int getChunkZ() {
+        return chunkZ;
+    }
+
+    public ChunkPrimer getPrimer() {
+        return primer;
+    }
+
+    /** Biome IDs in chunk biome array order (z * 16 + x). */
+    public byte[] getBiomeIds() {
+        return biomeIds;
+    }
+}
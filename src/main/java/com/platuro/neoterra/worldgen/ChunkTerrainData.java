@@ -0,0 +1,55 @@
+package com.platuro.neoterra.worldgen;
+
+import net.minecraft.world.biome.Biome;
+
+/**
+ * The noise, biome and height work of one chunk, everything generation needs
+ * before blocks are placed. Computing it touches no world state, so it can be
+ * done on any thread and handed to the chunk generator later.
+ *
+ * Arrays are indexed z * 16 + x.
+ */
+public class ChunkTerrainData {
+
+    private final int chunkX;
+    private final int chunkZ;
+    private final int[] heights;
+    private final Biome[] surfaceBiomes;
+    private final Biome[] biomes;
+
+    public ChunkTerrainData(int chunkX, int chunkZ, int[] heights, Biome[] surfaceBiomes, Biome[] biomes) {
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        this.heights = heights;
+        this.surfaceBiomes = surfaceBiomes;
+        this.biomes = biomes;
+    }
+
+    public int getChunkX() {
+        return chunkX;
+    }
+
+    public int getChunkZ() {
+        return chunkZ;
+    }
+
+    /** Height of the topmost solid block of the column. */
+    public int getHeight(int localX, int localZ) {
+        return heights[localZ * 16 + localX];
+    }
+
+    /** Heights of all columns. */
+    public int[] getHeights() {
+        return heights;
+    }
+
+    /** Biome whose blocks cover the column, after the river override. */
+    public Biome getSurfaceBiome(int localX, int localZ) {
+        return surfaceBiomes[localZ * 16 + localX];
+    }
+
+    /** Biomes for the chunk biome array. */
+    public Biome[] getBiomes() {
+        return biomes;
+    }
+}
@@ -0,0 +1,16 @@
+package com.platuro.neoterra.worldgen;
+
+/**
+ * The four latitude bands of the planet, from the poles to the equator.
+ */
+public enum ClimateZone {
+    FROZEN,
+    COLD,
+    WARM,
+    HOT;
+
+    /** Prefix of this zone's keys in biome_config.cfg, e.g. "frozen". */
+    public String configKey() {
+        return name().toLowerCase(java.util.Locale.ROOT);
+    }
+}
@@ -0,0 +1,107 @@
+package com.platuro.neoterra.worldgen;
+
+import com.platuro.neoterra.helpers.NeoTerraLog;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.ChunkPrimer;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+/**
+ * Writes terrain columns straight into a ChunkPrimer's backing char array.
+ *
+ * The primer stores each column as 256 consecutive entries (index x << 12 | z << 8 | y),
+ * so a column is at most three {@link Arrays#fill} runs - filler, top, water - plus
+ * bedrock, and the sections above every column and above sea level are never touched
+ * (air is 0). Block-state IDs are resolved once per chunk and biome instead of once
+ * per block.
+ *
+ * Produces exactly what {@link ChunkPrimer#setBlockState} would; when the backing
+ * array cannot be reached, {@link #isAvailable} is false and callers use that instead.
+ */
+final class ColumnFiller {
+
+    private static final Field DATA_FIELD = findDataField();
+
+    private final char bedrock;
+    private final char water;
+    private final int seaLevel;
+
+    // Top and filler IDs of the last biome seen; chunks rarely hold more than a few
+    private Biome lastBiome;
+    private char lastTop;
+    private char lastFiller;
+
+    ColumnFiller(int seaLevel) {
+        this.bedrock = idOf(Blocks.BEDROCK.getDefaultState());
+        this.water = idOf(Blocks.WATER.getDefaultState());
+        this.seaLevel = seaLevel;
+    }
+
+    static boolean isAvailable() {
+        return DATA_FIELD != null;
+    }
+
+    /** Fills every column of the primer from the chunk's heights and surface biomes. */
+    void fill(ChunkPrimer primer, ChunkTerrainData data) {
+        char[] blocks;
+        try {
+            blocks = (char[]) DATA_FIELD.get(primer);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                int base = x << 12 | z << 8;
+                int height = data.getHeight(x, z);
+                resolve(data.getSurfaceBiome(x, z));
+
+                blocks[base] = bedrock;
+                // y 1..height: filler, with the top block on the upper two
+                int topFrom = Math.max(1, height - 1);
+                if (topFrom > 1) {
+                    Arrays.fill(blocks, base + 1, base + topFrom, lastFiller);
+                }
+                if (height >= topFrom) {
+                    Arrays.fill(blocks, base + topFrom, base + height + 1, lastTop);
+                }
+                if (height < seaLevel) {
+                    Arrays.fill(blocks, base + height + 1, base + seaLevel + 1, water);
+                }
+            }
+        }
+    }
+
+    private void resolve(Biome biome) {
+        if (biome != lastBiome) {
+            lastBiome = biome;
+            lastTop = idOf(biome.topBlock);
+            lastFiller = idOf(biome.fillerBlock);
+        }
+    }
+
+    private static char idOf(IBlockState state) {
+        return (char) Block.BLOCK_STATE_IDS.get(state);
+    }
+
+    private static Field findDataField() {
+        for (String name : new String[]{"data", "field_177860_a"}) {
+            try {
+                Field field = ChunkPrimer.class.getDeclaredField(name);
+                if (field.getType() == char[].class) {
+                    field.setAccessible(true);
+                    return field;
+                }
+            } catch (NoSuchFieldException ignored) {
+            } catch (RuntimeException e) {
+                break;
+            }
+        }
+        NeoTerraLog.warn("ChunkPrimer storage not accessible, terrain falls back to per-block writes");
+        return null;
+    }
+}
@@ -1,20 +1,29 @@
 package com.platuro.neoterra.worldgen;
 
 import com.platuro.neoterra.config.BiomeConfig;
+import com.platuro.neoterra.config.WorldGenSettings;
 import com.platuro.neoterra.helpers.BOP;
+import com.platuro.neoterra.helpers.BiomeIds;
+import com.platuro.neoterra.helpers.NeoTerraLog;
+import com.platuro.neoterra.worldgen.noise.FractalNoise;
+import com.platuro.neoterra.worldgen.noise.SimplexNoise;
 import net.minecraft.init.Biomes;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.biome.BiomeProvider;
-import net.minecraft.world.gen.NoiseGeneratorSimplex;
 
 import javax.annotation.Nullable;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * A BiomeProvider that:
@@ -23,23 +32,24 @@ import java.util.Random;
  *  - Wavy polar boundary
  *  - No rivers
  *  - Optionally adds Biomes O' Plenty biomes if BOP is installed (by reflection).
+ *
+ * Thread-safety contract: every public method may be called from any thread, and a
+ * coordinate always gets the same biome whichever thread asks. Noise fields are
+ * immutable after construction, the region caches and island registry are
+ * concurrent, the settings and selection tables are fixed at construction, and batch evaluation uses
+ * per-thread scratch buffers. findBiomePosition only shares the caller's Random.
+ * The optional planet raster is built before it is published and never changes.
+ * It holds exactly what the noise gives, so it may be built at any time.
  */
 public class EarthlikeBiomeProvider extends BiomeProvider {
 
     // ~~~~~~~~~ World & Boundaries ~~~~~~~~~
-    private static final int MAX_PLANET_WIDTH = BiomeConfig.MAX_WORLD_WIDTH;
-    private static final int X_FADE_BAND      = 500;
-
-    private static final int Z_FADE_BAND      = (int) (BiomeConfig.MAX_WORLD_HEIGHT * 0.4);
-    private static final int POLAR_Z_LIMIT    = BiomeConfig.MAX_WORLD_HEIGHT - Z_FADE_BAND;
-    private static final int POLAR_FADE_BAND  = (int) ((BiomeConfig.MAX_WORLD_HEIGHT - Z_FADE_BAND) * 0.2);
-
-    private static final float OVERALL_MULTIPLIER = (float) ((BiomeConfig.MAX_WORLD_WIDTH + BiomeConfig.MAX_WORLD_HEIGHT) / 2) / 10000;
+    // Planet size, climate bands and the scales derived from them come from the WorldGenSettings
+    static final int X_FADE_BAND      = 500;
 
     // ~~~~~~~~~ Fractal Noise for Ocean ~~~~~~~~~
     private static final int    CONT_OCTAVES  = 5;
     private static final double CONT_PERSIST  = 0.5;
-    private static final double CONT_SCALE    = 0.0002 / (BiomeConfig.CONTINENT_SCALE_MULTIPLIER * OVERALL_MULTIPLIER);
     private static final double CONT_LACUNAR  = 2.0;
 
     private static final int    DETAIL_OCTAVES   = 2;
@@ -48,20 +58,22 @@ public class EarthlikeBiomeProvider extends BiomeProvider {
     private static final double DETAIL_LACUNAR   = 2.0;
     private static final double DETAIL_AMPLITUDE = 0.01;
 
-    private static final double SHIFT_VALUE = BiomeConfig.WORLD_SHIFT_VALUE - 0.27;
-
     // ~~~~~~~~~ Ocean & Beach thresholds ~~~~~~~~~
-    private static final double DEEP_OCEAN_LEVEL = -0.4;
-    private static final double OCEAN_LEVEL      = -0.10;
-    private static final double BEACH_LEVEL      = -0.07;
-
-    // ~~~~~~~~~ Lat effect & Climate Zones ~~~~~~~~~
-    private static final float  POLE_LIMIT   = BiomeConfig.MAX_WORLD_HEIGHT - Z_FADE_BAND - POLAR_FADE_BAND;
-
-    private static final float FROZEN_START = BiomeConfig.FROZEN_START;  // ~75°-90° latitude (Polar regions)
-    private static final float COLD_START   = BiomeConfig.COLD_START;  // ~50°-75° latitude (Cold temperate)
-    private static final float WARM_START   = BiomeConfig.WARM_START;  // ~20°-50° latitude (Warm temperate & subtropical)
-    private static final float CLIMATE_FADE = BiomeConfig.CLIMATE_FADE;  // Smooth biome transitions
+    static final double DEEP_OCEAN_LEVEL = -0.4;
+    static final double OCEAN_LEVEL      = -0.10;
+    static final double BEACH_LEVEL      = -0.07;
+
+    // Water classes, from the ocean/land value
+    private static final int UNSETTLED        = -1;
+    private static final int WATER_DEEP_OCEAN = 0;
+    private static final int WATER_OCEAN      = 1;
+    private static final int WATER_COLD_BEACH = 2;
+    private static final int WATER_LAND       = 3;
+
+    // Continent then detail octaves, evaluated in that order
+    private static final int OCEAN_STAGES = CONT_OCTAVES + DETAIL_OCTAVES;
+    // Covers rounding differences between a partial estimate and the full sum
+    private static final double SETTLE_EPSILON = 1e-9;
 
     // ~~~~~~~~~ Vanilla Biome Arrays ~~~~~~~~~
     private static final List<Biome> FROZEN_BASE = new ArrayList<>(Arrays.asList(
@@ -92,7 +104,6 @@ public class EarthlikeBiomeProvider extends BiomeProvider {
     private static Biome BOP_VOLCANO;
 
     // ~~~~~~~~~ Sub-biome lumps ~~~~~~~~~
-    private static final double BIOME_PATCH_SCALE   = 0.0007 / (OVERALL_MULTIPLIER * 2);
     private static final int    BIOME_PATCH_OCTAVES = 4;
     private static final double BIOME_PATCH_PERSIST = 0.5;
     private static final double BIOME_PATCH_LACUNAR = 2.0;
@@ -104,14 +115,46 @@ public class EarthlikeBiomeProvider extends BiomeProvider {
     private static final double POLAR_WAVE_SCALE     = 0.001;
     private static final double POLAR_WAVE_AMPLITUDE = BiomeConfig.POLAR_WAVES;
 
-    // ~~~~~~~~~ NOISE INSTANCES ~~~~~~~~~
-    private final NoiseGeneratorSimplex continentNoise;
-    private final NoiseGeneratorSimplex detailNoise;
-    private final NoiseGeneratorSimplex subBiomeNoise;
-    private final NoiseGeneratorSimplex waveNoise;
-    private final NoiseGeneratorSimplex polarWaveNoise;
-    private final NoiseGeneratorSimplex biomeClusterNoise; // New noise for blobs
+    private final WorldGenSettings settings;
+    // Weighted pickers compiled from the arrays above and the settings' weights
+    private final BiomeSelectionTable[] zoneTables;
 
+    // ~~~~~~~~~ NOISE INSTANCES ~~~~~~~~~
+    private final SimplexNoise continentNoise;
+    private final SimplexNoise detailNoise;
+    private final SimplexNoise subBiomeNoise;
+    private final SimplexNoise waveNoise;
+    private final SimplexNoise polarWaveNoise;
+    private final SimplexNoise biomeClusterNoise; // New noise for blobs
+
+    // ~~~~~~~~~ NOISE FIELDS ~~~~~~~~~
+    private final FractalNoise continentField;
+    private final FractalNoise detailField;
+    private final FractalNoise subBiomeField;
+    private final FractalNoise waveField;
+    private final FractalNoise polarWaveField;
+
+    // Rare ocean biome fields
+    private final FractalNoise rareBiomeField;
+    private final FractalNoise breakUpField;
+    private final FractalNoise oceanWaveField;
+    private final FractalNoise islandWaveField;
+    private final FractalNoise islandSelectionField;
+
+    // ~~~~~~~~~ CACHES ~~~~~~~~~
+    private final BiomeRegionCache blockCache; // 16x16 blocks per region
+    private final BiomeRegionCache quartCache; // 16x16 quarts (64x64 blocks) per region
+    private final IslandCellRegistry islandCells;
+    private final LongAdder skippedOctaves = new LongAdder();
+
+    // Optional whole-planet quart samples, see buildPlanetRaster
+    private volatile PlanetBiomeRaster raster;
+    // Optional on-disk copy of the region caches, see attachPersistentCache
+    private volatile WorldgenCacheFiles cacheFiles;
+    // Built on first use, see getAtlas
+    private CompletableFuture<BiomeAtlas> atlasBuild;
+
+    private static final ThreadLocal<BatchScratch> BATCH_SCRATCH = ThreadLocal.withInitial(BatchScratch::new);
 
     // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
     //                 BOP REFLECTION
@@ -181,12 +224,11 @@ public class EarthlikeBiomeProvider extends BiomeProvider {
                 warmVanilla.add(cherry_blossom_grove);
             }
 
-            System.out.println("Biomes O' Plenty detected! Added some BOP biome Optionals to arrays.");
+            NeoTerraLog.info("Biomes O' Plenty detected! Added some BOP biome Optionals to arrays.");
         } catch (ClassNotFoundException e) {
-            System.out.println("BOP not installed or not found. Using vanilla only.");
+            NeoTerraLog.info("BOP not installed or not found. Using vanilla only.");
         } catch (Throwable t) {
-            System.out.println("BOP reflection error. Using vanilla only.");
-            t.printStackTrace();
+            NeoTerraLog.warn("BOP reflection error. Using vanilla only.", t);
         }
 
         // Convert lists to arrays
@@ -209,73 +251,118 @@ public class EarthlikeBiomeProvider extends BiomeProvider {
                 }
             }
         } catch (NoSuchFieldException e) {
-            System.out.println("No such BOP field: " + fieldName);
+            NeoTerraLog.warn("No such BOP field: {}", fieldName);
         } catch (Exception e) {
-            e.printStackTrace();
+            NeoTerraLog.warn("Could not read BOP field {}", fieldName, e);
         }
         return null;
     }
 
     // ~~~~~~~~~ Constructor ~~~~~~~~~
-    public EarthlikeBiomeProvider(long seed) {
+    public EarthlikeBiomeProvider(long seed, WorldGenSettings settings) {
         super();
+        this.settings = settings;
+        this.zoneTables = compileZoneTables(settings);
         Random randContinent = new Random(seed);
         Random randDetail    = new Random(seed + 1);
         Random randSubBiome  = new Random(seed + 2);
         Random randWave      = new Random(seed + 3);
         Random randPolarWave = new Random(seed + 4);
 
-        this.continentNoise = new NoiseGeneratorSimplex(randContinent);
-        this.detailNoise    = new NoiseGeneratorSimplex(randDetail);
-        this.subBiomeNoise  = new NoiseGeneratorSimplex(randSubBiome);
-        this.waveNoise      = new NoiseGeneratorSimplex(randWave);
-        this.polarWaveNoise = new NoiseGeneratorSimplex(randPolarWave);
-        this.biomeClusterNoise = new NoiseGeneratorSimplex(new Random(seed + 5));
+        this.continentNoise = new SimplexNoise(randContinent);
+        this.detailNoise    = new SimplexNoise(randDetail);
+        this.subBiomeNoise  = new SimplexNoise(randSubBiome);
+        this.waveNoise      = new SimplexNoise(randWave);
+        this.polarWaveNoise = new SimplexNoise(randPolarWave);
+        this.biomeClusterNoise = new SimplexNoise(new Random(seed + 5));
+
+        this.continentField = new FractalNoise(continentNoise, CONT_OCTAVES, CONT_PERSIST, settings.continentScale, CONT_LACUNAR);
+        this.detailField    = new FractalNoise(detailNoise, DETAIL_OCTAVES, DETAIL_PERSIST, DETAIL_SCALE, DETAIL_LACUNAR);
+        this.subBiomeField  = new FractalNoise(subBiomeNoise, BIOME_PATCH_OCTAVES, BIOME_PATCH_PERSIST, settings.biomePatchScale, BIOME_PATCH_LACUNAR);
+        this.waveField      = new FractalNoise(waveNoise, 1, 1.0, WAVE_SCALE, 1.0);
+        this.polarWaveField = new FractalNoise(polarWaveNoise, 1, 1.0, POLAR_WAVE_SCALE, 1.0);
+
+        this.rareBiomeField       = new FractalNoise(subBiomeNoise, 3, 0.5, 0.0004, 2.0);
+        this.breakUpField         = new FractalNoise(subBiomeNoise, 4, 0.6, 0.002, 3.0);
+        this.oceanWaveField       = new FractalNoise(waveNoise, 2, 0.5, 0.0005, 3.0);
+        this.islandWaveField      = new FractalNoise(subBiomeNoise, 2, 0.6, 0.0008, 2.5);
+        this.islandSelectionField = new FractalNoise(subBiomeNoise, 3, 0.7, 0.001, 2.5);
+
+        this.blockCache = new BiomeRegionCache(BiomeConfig.BIOME_CACHE_SIZE, this::fillBlockRegion);
+        this.quartCache = new BiomeRegionCache(BiomeConfig.BIOME_CACHE_SIZE, this::fillQuartRegion);
+        this.islandCells = new IslandCellRegistry(this::resolveIslandCell);
     }
 
     public EarthlikeBiomeProvider() {
-        this(12345L);
+        this(12345L, BiomeConfig.getWorldGenSettings());
+    }
+
+    /** The settings this provider generates with, fixed for its lifetime. */
+    public WorldGenSettings getSettings() {
+        return settings;
     }
 
     // ~~~~~~~~~ Overridden Methods ~~~~~~~~~
     @Override
     public Biome getBiome(BlockPos pos) {
-        return pickBiome(pos.getX(), pos.getZ());
+        return BiomeIds.decode(blockCache.getId(pos.getX(), pos.getZ()));
+    }
+
+    @Override
+    public Biome getBiome(BlockPos pos, Biome defaultBiome) {
+        return getBiome(pos);
     }
 
+    /**
+     * Same contract as vanilla: a random quart-grid position within range whose biome
+     * is allowed, picked with the caller's Random exactly the way vanilla does, or null.
+     *
+     * A range whose {@link #getPossibleBiomes} are all disallowed is not sampled at
+     * all. Otherwise the quarts are read through the quart cache, so the planet raster
+     * and the cache files serve them, and regions searched near players are already
+     * there for chunk generation.
+     */
     @Override
     public BlockPos findBiomePosition(int x, int z, int range, List<Biome> allowedBiomes, Random random) {
-        System.out.println("Searching for biome in allowed list: " + allowedBiomes);
-        for (int radius = 0; radius <= range; radius++) {
-            // Search in a spiral pattern around (x, z) for a valid biome
-            for (int dx = -radius; dx <= radius; dx++) {
-                for (int dz = -radius; dz <= radius; dz++) {
-                    if (Math.abs(dx) != radius && Math.abs(dz) != radius) continue; // Check perimeter only
-                    BlockPos pos = new BlockPos(x + dx, 64, z + dz);
-                    Biome biomeHere = pickBiome(pos.getX(), pos.getZ());
-                    if (allowedBiomes.contains(biomeHere)) {
-                        System.out.println("Found valid biome at " + pos + ": " + biomeHere.getRegistryName());
-                        return pos;
-                    }
-                }
-            }
+        NeoTerraLog.count("findBiomePosition.calls");
+        int minQX = x - range >> 2;
+        int minQZ = z - range >> 2;
+        int maxQX = x + range >> 2;
+        int maxQZ = z + range >> 2;
+
+        // Vanilla only draws from the Random on a match, so ruling the range out is exact
+        if (Collections.disjoint(getPossibleBiomes(minQX << 2, minQZ << 2, maxQX << 2, maxQZ << 2), allowedBiomes)) {
+            NeoTerraLog.count("findBiomePosition.bounded");
+            NeoTerraLog.count("findBiomePosition.misses");
+            return null;
         }
-        System.out.println("ERROR: No valid biome found in range " + range + " around (" + x + "," + z + ")");
-        return null;
-    }
 
+        int widthQ = maxQX - minQX + 1;
+        Biome[] quarts = getBiomesForGeneration(null, minQX, minQZ, widthQ, maxQZ - minQZ + 1);
 
+        // Walk the quarts in vanilla's order so the Random is consumed the same way
+        BlockPos found = null;
+        int matches = 0;
+        for (int i = 0; i < quarts.length; i++) {
+            if (allowedBiomes.contains(quarts[i]) && (found == null || random.nextInt(matches + 1) == 0)) {
+                found = new BlockPos(minQX + i % widthQ << 2, 0, minQZ + i / widthQ << 2);
+                matches++;
+            }
+        }
+
+        if (found == null) {
+            NeoTerraLog.count("findBiomePosition.misses");
+            NeoTerraLog.debug("No valid biome found in range {} around ({}, {})", range, x, z);
+        }
+        return found;
+    }
 
     @Override
     public Biome[] getBiomesForGeneration(Biome[] biomes, int x, int z, int width, int height) {
         if (biomes == null || biomes.length < width * height) {
             biomes = new Biome[width * height];
         }
-        for (int i = 0; i < width * height; i++) {
-            int localX = (x + (i % width)) << 2;
-            int localZ = (z + (i / width)) << 2;
-            biomes[i] = pickBiome(localX, localZ);
-        }
+        copyFromCache(quartCache, biomes, x, z, width, height);
         return biomes;
     }
 
@@ -284,14 +371,83 @@ public class EarthlikeBiomeProvider extends BiomeProvider {
         if (listToReuse == null || listToReuse.length < width * depth) {
             listToReuse = new Biome[width * depth];
         }
-        for (int i = 0; i < width * depth; i++) {
-            int localX = x + (i % width);
-            int localZ = z + (i / width);
-            listToReuse[i] = pickBiome(localX, localZ);
+        // Same contract as vanilla: only aligned 16x16 requests come from the cache
+        if (cacheFlag && width == 16 && depth == 16 && (x & 15) == 0 && (z & 15) == 0) {
+            copyFromCache(blockCache, listToReuse, x, z, width, depth);
+            return listToReuse;
         }
+        pickBiomes(listToReuse, x, z, width, depth, 1);
         return listToReuse;
     }
 
+    private static void copyFromCache(BiomeRegionCache cache, Biome[] out, int x, int z, int width, int depth) {
+        int minRegionX = x >> BiomeRegionCache.REGION_SHIFT;
+        int minRegionZ = z >> BiomeRegionCache.REGION_SHIFT;
+        int maxRegionX = (x + width - 1) >> BiomeRegionCache.REGION_SHIFT;
+        int maxRegionZ = (z + depth - 1) >> BiomeRegionCache.REGION_SHIFT;
+
+        for (int regionZ = minRegionZ; regionZ <= maxRegionZ; regionZ++) {
+            for (int regionX = minRegionX; regionX <= maxRegionX; regionX++) {
+                byte[] ids = cache.getRegion(regionX, regionZ);
+                int originX = regionX << BiomeRegionCache.REGION_SHIFT;
+                int originZ = regionZ << BiomeRegionCache.REGION_SHIFT;
+                int fromX = Math.max(x, originX);
+                int toX   = Math.min(x + width, originX + BiomeRegionCache.REGION_SIZE);
+                int fromZ = Math.max(z, originZ);
+                int toZ   = Math.min(z + depth, originZ + BiomeRegionCache.REGION_SIZE);
+
+                for (int zz = fromZ; zz < toZ; zz++) {
+                    int src = (zz - originZ) << BiomeRegionCache.REGION_SHIFT;
+                    int dst = (zz - z) * width;
+                    for (int xx = fromX; xx < toX; xx++) {
+                        out[dst + xx - x] = BiomeIds.decode(ids[src + xx - originX]);
+                    }
+                }
+            }
+        }
+    }
+
+    private void fillBlockRegion(int regionX, int regionZ, byte[] ids) {
+        WorldgenCacheFiles files = this.cacheFiles;
+        if (files != null && files.blockBiomes.read(regionX, regionZ, ids)) {
+            return;
+        }
+        Biome[] biomes = new Biome[ids.length];
+        pickBiomes(biomes, regionX << BiomeRegionCache.REGION_SHIFT, regionZ << BiomeRegionCache.REGION_SHIFT,
+                BiomeRegionCache.REGION_SIZE, BiomeRegionCache.REGION_SIZE, 1);
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = BiomeIds.encode(biomes[i]);
+        }
+        if (files != null) {
+            files.blockBiomes.write(regionX, regionZ, ids);
+        }
+    }
+
+    private void fillQuartRegion(int regionX, int regionZ, byte[] ids) {
+        WorldgenCacheFiles files = this.cacheFiles;
+        if (files != null && files.quartBiomes.read(regionX, regionZ, ids)) {
+            return;
+        }
+        PlanetBiomeRaster raster = this.raster;
+        int qx0 = regionX << BiomeRegionCache.REGION_SHIFT;
+        int qz0 = regionZ << BiomeRegionCache.REGION_SHIFT;
+        if (raster != null && raster.containsQuarts(qx0, qz0, BiomeRegionCache.REGION_SIZE, BiomeRegionCache.REGION_SIZE)) {
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = raster.getQuartId(qx0 + (i & BiomeRegionCache.REGION_MASK), qz0 + (i >> BiomeRegionCache.REGION_SHIFT));
+            }
+            return;
+        }
+        Biome[] biomes = new Biome[ids.length];
+        pickBiomes(biomes, regionX << (BiomeRegionCache.REGION_SHIFT + 2), regionZ << (BiomeRegionCache.REGION_SHIFT + 2),
+                BiomeRegionCache.REGION_SIZE, BiomeRegionCache.REGION_SIZE, 4);
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = BiomeIds.encode(biomes[i]);
+        }
+        if (files != null) {
+            files.quartBiomes.write(regionX, regionZ, ids);
+        }
+    }
+
     @Override
     public List<Biome> getBiomesToSpawnIn() {
         List<Biome> result = new ArrayList<>();
@@ -314,6 +470,17 @@ public class EarthlikeBiomeProvider extends BiomeProvider {
 
     @Override
     public boolean areBiomesViable(int centerX, int centerZ, int radius, List<Biome> allowed) {
+        // Most structure checks are settled by the climate bands alone
+        Set<Biome> possible = getPossibleBiomes(centerX - radius, centerZ - radius, centerX + radius, centerZ + radius);
+        if (allowed.containsAll(possible)) {
+            NeoTerraLog.count("areBiomesViable.bounded");
+            return true;
+        }
+        if (Collections.disjoint(possible, allowed)) {
+            NeoTerraLog.count("areBiomesViable.bounded");
+            return false;
+        }
+
         int step = 4;
         for (int xx = centerX - radius; xx <= centerX + radius; xx += step) {
             for (int zz = centerZ - radius; zz <= centerZ + radius; zz += step) {
@@ -326,226 +493,544 @@ public class EarthlikeBiomeProvider extends BiomeProvider {
         return true;
     }
 
+    /**
+     * Every biome that can occur in the block rectangle [minX, maxX] x [minZ, maxZ],
+     * possibly with a few that do not. Worked out without sampling any noise: from
+     * the X edge, the polar limit swung by its wave, the edge fades capping how high
+     * the land value can get, and the climate zones the latitude can reach with the
+     * latitude wave at either extreme. Oceans are only ruled out beyond the edges.
+     *
+     * Placement code can reject an area whose possible biomes are all unwanted, or
+     * accept one whose possible biomes are all wanted, before sampling it.
+     */
+    public Set<Biome> getPossibleBiomes(int minX, int minZ, int maxX, int maxZ) {
+        Set<Biome> possible = new HashSet<>();
+        if (minX > maxX || minZ > maxZ) {
+            return possible;
+        }
+        int minAbsX = minX <= 0 && maxX >= 0 ? 0 : Math.min(Math.abs(minX), Math.abs(maxX));
+        int maxAbsX = Math.max(Math.abs(minX), Math.abs(maxX));
+        int minAbsZ = minZ <= 0 && maxZ >= 0 ? 0 : Math.min(Math.abs(minZ), Math.abs(maxZ));
+        int maxAbsZ = Math.max(Math.abs(minZ), Math.abs(maxZ));
+
+        // Beyond the X edge
+        if (maxAbsX > settings.maxWorldWidth) {
+            possible.add(Biomes.DEEP_OCEAN);
+        }
+        if (minAbsX > settings.maxWorldWidth) {
+            return possible;
+        }
+
+        // Past the wavy pole
+        double polarSwing = polarWaveField.getTailBound(0) * POLAR_WAVE_AMPLITUDE;
+        if (maxAbsZ > settings.polarZLimit - polarSwing) {
+            possible.add(Biomes.FROZEN_OCEAN);
+        }
+        double maxDistFromPole = settings.polarZLimit + polarSwing - minAbsZ;
+        if (maxDistFromPole < 0) {
+            return possible;
+        }
+
+        possible.add(Biomes.DEEP_OCEAN);
+        possible.add(Biomes.OCEAN);
+        int maxDistFromXEdge = settings.maxWorldWidth - minAbsX;
+        if ((double) maxDistFromXEdge / X_FADE_BAND > 0.6) {
+            possible.add(Biomes.MUSHROOM_ISLAND);
+            if (BOP_VOLCANO != null) {
+                possible.add(BOP_VOLCANO);
+            }
+        }
+
+        // Land needs the highest value the noise allows to stay above ocean after the fades
+        double highest = continentField.getTailBound(0) + detailField.getTailBound(0) * DETAIL_AMPLITUDE
+                + settings.shiftValue + SETTLE_EPSILON;
+        if (fadeTowardsEdges(highest, maxDistFromXEdge, maxDistFromPole) < OCEAN_LEVEL) {
+            return possible;
+        }
+        if (latitudeOf(maxAbsZ) > settings.coldStart) {
+            possible.add(Biomes.COLD_BEACH);
+        }
+
+        double waveBound = waveField.getTailBound(0);
+        int first = climateZoneAt(shiftedLatitude(latitudeOf(minAbsZ), -waveBound)).ordinal();
+        int last  = climateZoneAt(shiftedLatitude(latitudeOf(maxAbsZ), waveBound)).ordinal();
+        // Zones only follow latitude in order when the band starts do
+        if (!(settings.warmStart <= settings.coldStart && settings.coldStart <= settings.frozenStart)) {
+            first = 0;
+            last = ClimateZone.values().length - 1;
+        }
+        for (int zone = Math.min(first, last); zone <= Math.max(first, last); zone++) {
+            possible.addAll(Arrays.asList(zoneBiomes(ClimateZone.values()[zone])));
+        }
+        return possible;
+    }
+
     // ~~~~~~~~~ MAIN BIOME SELECTION ~~~~~~~~~
-    private Biome pickBiome(int x, int z) {
-        int absX = Math.abs(x);
-        int absZ = Math.abs(z);
-
-        // 1) fractal for ocean vs land
-        double contVal = fractalNoise(continentNoise, x, z,
-                CONT_OCTAVES, CONT_PERSIST, CONT_SCALE, CONT_LACUNAR);
-        double detVal  = fractalNoise(detailNoise, x, z,
-                DETAIL_OCTAVES, DETAIL_PERSIST, DETAIL_SCALE, DETAIL_LACUNAR)
-                * DETAIL_AMPLITUDE;
-        double finalVal = contVal + detVal + SHIFT_VALUE;
-
-        // 2) fade near X boundary => ocean
-        int distFromXEdge = MAX_PLANET_WIDTH - absX;
+    Biome pickBiome(int x, int z) {
+        // 1) cheap geometric checks: beyond the X edge, past the wavy pole
+        int distFromXEdge = settings.maxWorldWidth - Math.abs(x);
         if (distFromXEdge < 0) {
+            skippedOctaves.add(OCEAN_STAGES);
             return Biomes.DEEP_OCEAN;
-        } else if (distFromXEdge < X_FADE_BAND) {
-            finalVal = fadeTo(finalVal, -0.8, distFromXEdge, X_FADE_BAND);
         }
-
-        // 3) wavy polar boundary
-        double polarWave   = polarWaveNoise.getValue(x * POLAR_WAVE_SCALE, z * POLAR_WAVE_SCALE)
-                * POLAR_WAVE_AMPLITUDE;
-        double dynamicPole = POLAR_Z_LIMIT + polarWave;
-        double distFromPole = dynamicPole - absZ;
+        double distFromPole = distanceFromPole(z, polarWaveField.getValue(x, z));
         if (distFromPole < 0) {
+            skippedOctaves.add(OCEAN_STAGES);
+            return Biomes.FROZEN_OCEAN;
+        }
+
+        // 2) ocean vs land, one octave at a time until the class is settled
+        boolean cold = latitudeOf(z) > settings.coldStart;
+        double contSum = 0.0;
+        double detailSum = 0.0;
+        int waterClass = UNSETTLED;
+        for (int stage = 0; waterClass == UNSETTLED; stage++) {
+            if (stage < CONT_OCTAVES) {
+                contSum += continentField.getOctave(stage, x, z);
+            } else {
+                detailSum += detailField.getOctave(stage - CONT_OCTAVES, x, z);
+            }
+            waterClass = settleWaterClass(stage, contSum, detailSum, distFromXEdge, distFromPole, cold);
+            if (waterClass != UNSETTLED) {
+                skippedOctaves.add(OCEAN_STAGES - 1 - stage);
+            }
+        }
+
+        Biome water = waterBiome(waterClass, x, z);
+        if (water != null) {
+            return water;
+        }
+
+        // 3) land => pick climate zone
+        return pickLatitudeBiome(latitudeOf(z), waveField.getValue(x, z), subBiomeField.getValue(x, z));
+    }
+
+    /**
+     * {@link #pickBiome} without early termination: every ocean octave is summed before
+     * classifying, as before the octaves were staged. The staged paths must match it.
+     */
+    Biome pickBiomeAllOctaves(int x, int z) {
+        if (settings.maxWorldWidth - Math.abs(x) < 0) {
+            return Biomes.DEEP_OCEAN;
+        }
+        if (distanceFromPole(z, polarWaveField.getValue(x, z)) < 0) {
             return Biomes.FROZEN_OCEAN;
-        } else if (distFromPole < POLAR_FADE_BAND) {
-            int distInt = (int)distFromPole;
-            if (distInt < 0) distInt = 0;
-            finalVal = fadeTo(finalVal, -0.8, distInt, POLAR_FADE_BAND);
         }
+        Biome water = waterBiome(waterClass(oceanLandValue(x, z), latitudeOf(z) > settings.coldStart), x, z);
+        if (water != null) {
+            return water;
+        }
+        return pickLatitudeBiome(latitudeOf(z), waveField.getValue(x, z), subBiomeField.getValue(x, z));
+    }
+
+    /**
+     * The ocean/land value of a sample inside the X edge and the wavy pole, with every
+     * octave summed and the edge fades applied; compared against the water thresholds.
+     */
+    double oceanLandValue(int x, int z) {
+        double contVal = continentField.getValue(x, z);
+        double detVal  = detailField.getValue(x, z) * DETAIL_AMPLITUDE;
+        return fadeTowardsEdges(contVal + detVal + settings.shiftValue,
+                settings.maxWorldWidth - Math.abs(x), distanceFromPole(z, polarWaveField.getValue(x, z)));
+    }
+
+    /**
+     * Batch form of {@link #pickBiome}: classifies the samples at
+     * (x0 + col * step, z0 + row * step) into out[row * width + col].
+     * Each ocean octave is evaluated a whole grid at a time, but only for the cells
+     * whose class is not settled yet; climate fields only for the cells that turned
+     * out to be land.
+     */
+    void pickBiomes(Biome[] out, int x0, int z0, int width, int depth, int step) {
+        int cells = width * depth;
+        BatchScratch scratch = BATCH_SCRATCH.get().ensure(cells);
+        double[] contSums   = scratch.contSums;
+        double[] detailSums = scratch.detailSums;
+        double[] poleDists  = scratch.poleDists;
+        boolean[] open      = scratch.open;
+        boolean[] land      = scratch.land;
+        Arrays.fill(contSums, 0, cells, 0.0);
+        Arrays.fill(detailSums, 0, cells, 0.0);
+        Arrays.fill(open, 0, cells, false);
+        Arrays.fill(land, 0, cells, false);
+        polarWaveField.fillGrid(poleDists, x0, z0, width, depth, step);
+
+        int openCells = 0;
+        for (int i = 0; i < cells; i++) {
+            int x = x0 + (i % width) * step;
+            int z = z0 + (i / width) * step;
+            out[i] = null;
+            poleDists[i] = distanceFromPole(z, poleDists[i]);
+            if (settings.maxWorldWidth - Math.abs(x) < 0) {
+                out[i] = Biomes.DEEP_OCEAN;
+            } else if (poleDists[i] < 0) {
+                out[i] = Biomes.FROZEN_OCEAN;
+            } else {
+                open[i] = true;
+                openCells++;
+            }
+        }
+        skippedOctaves.add((long) (cells - openCells) * OCEAN_STAGES);
+
+        boolean anyLand = false;
+        for (int stage = 0; openCells > 0; stage++) {
+            if (stage < CONT_OCTAVES) {
+                continentField.addOctave(contSums, stage, x0, z0, width, depth, step, open);
+            } else {
+                detailField.addOctave(detailSums, stage - CONT_OCTAVES, x0, z0, width, depth, step, open);
+            }
+            for (int i = 0; i < cells; i++) {
+                if (!open[i]) continue;
+                int x = x0 + (i % width) * step;
+                int z = z0 + (i / width) * step;
+                int waterClass = settleWaterClass(stage, contSums[i], detailSums[i],
+                        settings.maxWorldWidth - Math.abs(x), poleDists[i], latitudeOf(z) > settings.coldStart);
+                if (waterClass == UNSETTLED) continue;
+
+                open[i] = false;
+                openCells--;
+                skippedOctaves.add(OCEAN_STAGES - 1 - stage);
+                out[i] = waterBiome(waterClass, x, z);
+                land[i] = out[i] == null;
+                anyLand |= land[i];
+            }
+        }
+        if (!anyLand) {
+            return;
+        }
+
+        // The ocean buffers are consumed, reuse them
+        double[] waveVals  = contSums;
+        double[] patchVals = detailSums;
+        waveField.fillGrid(waveVals, x0, z0, width, depth, step, land);
+        subBiomeField.fillGrid(patchVals, x0, z0, width, depth, step, land);
+
+        for (int i = 0; i < cells; i++) {
+            if (land[i]) {
+                int z = z0 + (i / width) * step;
+                out[i] = pickLatitudeBiome(latitudeOf(z), waveVals[i], patchVals[i]);
+            }
+        }
+    }
 
-        // latitude calculation
-        float baseLatVal = (float) absZ / POLE_LIMIT;
+    /** Per-thread buffers for {@link #pickBiomes}, grown to the largest batch seen. */
+    private static final class BatchScratch {
+        double[] contSums   = new double[0];
+        double[] detailSums = new double[0];
+        double[] poleDists  = new double[0];
+        boolean[] open      = new boolean[0];
+        boolean[] land      = new boolean[0];
+
+        BatchScratch ensure(int cells) {
+            if (contSums.length < cells) {
+                contSums   = new double[cells];
+                detailSums = new double[cells];
+                poleDists  = new double[cells];
+                open       = new boolean[cells];
+                land       = new boolean[cells];
+            }
+            return this;
+        }
+    }
 
-        // Determine climate
-        boolean isColdClimate = baseLatVal > COLD_START;
+    /** Distance from the wavy polar boundary, negative beyond it. */
+    private double distanceFromPole(int z, double polarWaveVal) {
+        double polarWave   = polarWaveVal * POLAR_WAVE_AMPLITUDE;
+        double dynamicPole = settings.polarZLimit + polarWave;
+        return dynamicPole - Math.abs(z);
+    }
 
-        // 4) ocean thresholds with cold climate check
+    /**
+     * Water class of a sample once octaves 0..stage of the continent field, followed by
+     * the detail field, are summed in; {@link #UNSETTLED} if the octaves still to come
+     * could move it across a threshold.
+     *
+     * The edge fades are monotone in the raw value, so the class is settled when the
+     * lowest and the highest raw value the remaining octaves allow land in the same class.
+     * The last stage computes the value exactly as a full evaluation does.
+     */
+    private int settleWaterClass(int stage, double contSum, double detailSum,
+                                 int distFromXEdge, double distFromPole, boolean cold) {
+        if (stage == OCEAN_STAGES - 1) {
+            double contVal = continentField.normalise(contSum);
+            double detVal  = detailField.normalise(detailSum) * DETAIL_AMPLITUDE;
+            return waterClass(fadeTowardsEdges(contVal + detVal + settings.shiftValue, distFromXEdge, distFromPole), cold);
+        }
+
+        double estimate;
+        double bound;
+        if (stage < CONT_OCTAVES) {
+            estimate = continentField.normalise(contSum) + settings.shiftValue;
+            bound = continentField.getTailBound(stage + 1) + detailField.getTailBound(0) * DETAIL_AMPLITUDE;
+        } else {
+            estimate = continentField.normalise(contSum) + detailField.normalise(detailSum) * DETAIL_AMPLITUDE + settings.shiftValue;
+            bound = detailField.getTailBound(stage - CONT_OCTAVES + 1) * DETAIL_AMPLITUDE;
+        }
+        bound += SETTLE_EPSILON;
+
+        int low  = waterClass(fadeTowardsEdges(estimate - bound, distFromXEdge, distFromPole), cold);
+        int high = waterClass(fadeTowardsEdges(estimate + bound, distFromXEdge, distFromPole), cold);
+        return low == high ? low : UNSETTLED;
+    }
+
+    /** Pulls the ocean/land value towards deep ocean within the X and polar fade bands. */
+    private double fadeTowardsEdges(double finalVal, int distFromXEdge, double distFromPole) {
+        if (distFromXEdge < X_FADE_BAND) {
+            finalVal = fadeTo(finalVal, -0.8, distFromXEdge, X_FADE_BAND);
+        }
+        if (distFromPole < settings.polarFadeBand) {
+            int distInt = (int)distFromPole;
+            if (distInt < 0) distInt = 0;
+            finalVal = fadeTo(finalVal, -0.8, distInt, settings.polarFadeBand);
+        }
+        return finalVal;
+    }
+
+    // ocean thresholds with cold climate check
+    private static int waterClass(double finalVal, boolean cold) {
         if (finalVal < DEEP_OCEAN_LEVEL) {
-            return pickSubBiome(Biomes.DEEP_OCEAN, x, z);
+            return WATER_DEEP_OCEAN;
         } else if (finalVal < OCEAN_LEVEL) {
-            return pickSubBiome(Biomes.OCEAN, x, z);
+            return WATER_OCEAN;
+        } else if (cold && finalVal < BEACH_LEVEL) {
+            return WATER_COLD_BEACH;
         }
+        return WATER_LAND;
+    }
+
+    /** Biome of a settled water class; null for land, which needs a climate-zone biome. */
+    private Biome waterBiome(int waterClass, int x, int z) {
+        switch (waterClass) {
+            case WATER_DEEP_OCEAN: return pickSubBiome(Biomes.DEEP_OCEAN, x, z);
+            case WATER_OCEAN:      return pickSubBiome(Biomes.OCEAN, x, z);
+            case WATER_COLD_BEACH: return Biomes.COLD_BEACH;
+            default:               return null;
+        }
+    }
+
+    /**
+     * Samples the whole planet at quart resolution (about 25 MB at the default size),
+     * spread over all cores, and answers later quart biome queries from it. Block
+     * biomes are still evaluated, so the world generates the same either way. Blocks
+     * until done; see {@link #buildPlanetRasterAsync}.
+     */
+    public void buildPlanetRaster() {
+        long start = System.nanoTime();
+        PlanetBiomeRaster built = PlanetBiomeRaster.build(this, settings.maxWorldWidth, settings.maxWorldHeight);
+        raster = built;
+        NeoTerraLog.info("Planet biome raster built in {} ms ({} MB)",
+                (System.nanoTime() - start) / 1_000_000L, built.getSizeBytes() >> 20);
+    }
 
-        if(isColdClimate) {
-            if(finalVal < BEACH_LEVEL) {
-                return Biomes.COLD_BEACH;
+    /**
+     * Builds the planet raster on the common pool and returns at once. Quart queries
+     * are answered from the noise until it is attached, with the same results.
+     */
+    public CompletableFuture<Void> buildPlanetRasterAsync() {
+        return CompletableFuture.runAsync(this::buildPlanetRaster).whenComplete((done, e) -> {
+            if (e != null) {
+                NeoTerraLog.error("Planet biome raster build failed", e);
             }
+        });
+    }
+
+    public boolean hasPlanetRaster() {
+        return raster != null;
+    }
+
+    /**
+     * Backs the block and quart region caches with the world's cache files: regions
+     * found there skip the noise entirely, new ones are written through.
+     */
+    public void attachPersistentCache(WorldgenCacheFiles files) {
+        cacheFiles = files;
+    }
+
+    /**
+     * The planet's {@link BiomeAtlas}. Built on the common pool on first use; later
+     * calls share that build, which completes at once once it is done.
+     */
+    public synchronized CompletableFuture<BiomeAtlas> getAtlas() {
+        if (atlasBuild == null) {
+            atlasBuild = CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime();
+                BiomeAtlas built = BiomeAtlas.build(this, settings.maxWorldWidth, settings.maxWorldHeight);
+                NeoTerraLog.info("Biome atlas built in {} ms", (System.nanoTime() - start) / 1_000_000L);
+                return built;
+            });
+        }
+        return atlasBuild;
+    }
+
+    /** Ocean octaves skipped by early termination since this provider was created. */
+    public long getSkippedOctaves() {
+        return skippedOctaves.sum();
+    }
+
+    /** True for the biomes climate zones pick, i.e. land other than rare islands. */
+    static boolean isZoneBiome(Biome biome) {
+        return biome != Biomes.DEEP_OCEAN && biome != Biomes.OCEAN && biome != Biomes.FROZEN_OCEAN
+                && biome != Biomes.COLD_BEACH && biome != Biomes.MUSHROOM_ISLAND && biome != BOP_VOLCANO;
+    }
+
+    /** True for the warm zone's biomes, the temperate ones players spawn in. */
+    static boolean isTemperateBiome(Biome biome) {
+        for (Biome warm : WARM_BIOMES) {
+            if (warm == biome) return true;
         }
+        return false;
+    }
 
-        // 6) land => pick climate zone
-        return pickLatitudeBiome(x, z, baseLatVal);
+    // latitude calculation
+    private float latitudeOf(int z) {
+        return (float) Math.abs(z) / settings.poleLimit;
     }
 
     // ~~~~~~~~~ LATITUDE-BASED CLIMATE with wave ~~~~~~~~~
-    private Biome pickLatitudeBiome(int x, int z, float baseLatVal) {
-        // wave for lat boundary
-        double wv = waveNoise.getValue(x * WAVE_SCALE, z * WAVE_SCALE) * WAVE_AMPLITUDE;
+    private Biome pickLatitudeBiome(float baseLatVal, double waveVal, double patchVal) {
+        return pickSubBiome(climateZoneAt(shiftedLatitude(baseLatVal, waveVal)), patchVal);
+    }
+
+    // wave for lat boundary
+    private static float shiftedLatitude(float baseLatVal, double waveVal) {
+        double wv = waveVal * WAVE_AMPLITUDE;
         float latVal = (float)(baseLatVal + wv);
         if (latVal < 0f) latVal = 0f;
         if (latVal > 1f) latVal = 1f;
+        return latVal;
+    }
+
+    private ClimateZone climateZoneAt(float latVal) {
+        float frozenStart = settings.frozenStart;  // ~75°-90° latitude (Polar regions)
+        float coldStart   = settings.coldStart;    // ~50°-75° latitude (Cold temperate)
+        float warmStart   = settings.warmStart;    // ~20°-50° latitude (Warm temperate & subtropical)
+        float fade        = settings.climateFade;  // Smooth biome transitions
 
-        if (latVal > FROZEN_START - CLIMATE_FADE) {
-            float alpha = fadeAlpha(latVal, FROZEN_START - CLIMATE_FADE, FROZEN_START + CLIMATE_FADE);
-            if (latVal < FROZEN_START) {
-                return blendTwoBiomes(COLD_BIOMES, FROZEN_BIOMES, alpha, x, z);
+        if (latVal > frozenStart - fade) {
+            float alpha = fadeAlpha(latVal, frozenStart - fade, frozenStart + fade);
+            if (latVal < frozenStart) {
+                return blendTwoZones(ClimateZone.COLD, ClimateZone.FROZEN, alpha);
             }
-            return pickSubBiome(FROZEN_BIOMES, x, z);
+            return ClimateZone.FROZEN;
         }
 
-        if (latVal > COLD_START - CLIMATE_FADE) {
-            float alpha = fadeAlpha(latVal, COLD_START - CLIMATE_FADE, COLD_START + CLIMATE_FADE);
-            if (latVal < COLD_START) {
-                return blendTwoBiomes(WARM_BIOMES, COLD_BIOMES, alpha, x, z);
+        if (latVal > coldStart - fade) {
+            float alpha = fadeAlpha(latVal, coldStart - fade, coldStart + fade);
+            if (latVal < coldStart) {
+                return blendTwoZones(ClimateZone.WARM, ClimateZone.COLD, alpha);
             }
-            return pickSubBiome(COLD_BIOMES, x, z);
+            return ClimateZone.COLD;
         }
 
-        if (latVal > WARM_START - CLIMATE_FADE) {
-            float alpha = fadeAlpha(latVal, WARM_START - CLIMATE_FADE, WARM_START + CLIMATE_FADE);
-            if (latVal < WARM_START) {
-                return blendTwoBiomes(HOT_BIOMES, WARM_BIOMES, alpha, x, z);
+        if (latVal > warmStart - fade) {
+            float alpha = fadeAlpha(latVal, warmStart - fade, warmStart + fade);
+            if (latVal < warmStart) {
+                return blendTwoZones(ClimateZone.HOT, ClimateZone.WARM, alpha);
             }
-            return pickSubBiome(WARM_BIOMES, x, z);
+            return ClimateZone.WARM;
         }
 
         // near equator => HOT
-        return pickSubBiome(HOT_BIOMES, x, z);
+        return ClimateZone.HOT;
     }
 
     // ~~~~~~~~~ Sub-biome lumps with ocean-restricted rare biomes ~~~~~~~~~
-    private Biome pickSubBiome(Biome[] biomes, int x, int z) {
-        double val = fractalNoise(subBiomeNoise, x, z,
-                BIOME_PATCH_OCTAVES, BIOME_PATCH_PERSIST,
-                BIOME_PATCH_SCALE, BIOME_PATCH_LACUNAR);
-        double t = (val + 1.0) / 2.0; // Normalize to range [0,1]
-
-        // Weighted Biome Selection
-        double totalWeight = 0;
-        for (Biome biome : biomes) {
-            totalWeight += BiomeConfig.getBiomeWeight(biome);
-        }
+    private Biome pickSubBiome(ClimateZone zone, double val) {
+        return zoneTable(zone).pick(val);
+    }
 
-        double randomValue = t * totalWeight;
-        double cumulativeWeight = 0;
+    private BiomeSelectionTable zoneTable(ClimateZone zone) {
+        return zoneTables[zone.ordinal()];
+    }
 
-        for (Biome biome : biomes) {
-            cumulativeWeight += BiomeConfig.getBiomeWeight(biome);
-            if (randomValue <= cumulativeWeight) {
-                return biome;
-            }
+    private static Biome[] zoneBiomes(ClimateZone zone) {
+        switch (zone) {
+            case FROZEN: return FROZEN_BIOMES;
+            case COLD:   return COLD_BIOMES;
+            case WARM:   return WARM_BIOMES;
+            default:     return HOT_BIOMES;
         }
+    }
 
-        return biomes[biomes.length - 1]; // Default fallback
+    /** One compiled selection table per climate zone, indexed by ordinal. */
+    private static BiomeSelectionTable[] compileZoneTables(WorldGenSettings settings) {
+        ClimateZone[] zones = ClimateZone.values();
+        BiomeSelectionTable[] tables = new BiomeSelectionTable[zones.length];
+        for (ClimateZone zone : zones) {
+            tables[zone.ordinal()] = BiomeSelectionTable.compile(zone, zoneBiomes(zone), settings);
+        }
+        return tables;
     }
 
 
 
     private Biome pickSubBiome(Biome baseBiome, int x, int z) {
-        // 1️⃣ Check if this is a deep ocean biome
-        boolean isDeepOcean = baseBiome == Biomes.DEEP_OCEAN;
-
-        // 2️⃣ Calculate normalized latitude (0 at equator, 1 at pole)
-        float baseLatVal = (float) Math.abs(z) / POLE_LIMIT;
-
-        // 3️⃣ Generate noise values for rare biome selection
-        double rareBiomeNoise = fractalNoise(subBiomeNoise, x, z, 3, 0.5, 0.0004, 2.0);
-        double rareBiomeChance = (rareBiomeNoise + 1.0) / 2.0;  // Normalize to [0,1]
-        double breakUpNoise = fractalNoise(subBiomeNoise, x, z, 4, 0.6, 0.002, 3.0);
-
-        // 4️⃣ Additional wavy effect for smoother blending
-        double waveEffect = fractalNoise(waveNoise, x, z, 2, 0.5, 0.0005, 3.0) * 0.1;
-        baseLatVal = Math.min(1.0f, Math.max(0.0f, baseLatVal + (float) waveEffect)); // Apply wave shift
+        // 1️⃣ Only deep ocean can hold rare islands
+        if (baseBiome != Biomes.DEEP_OCEAN) {
+            return baseBiome;
+        }
 
-        // 5️⃣ Check if within safe world boundaries (No islands in fade-out regions!)
-        double distanceFromEdge = MAX_PLANET_WIDTH - Math.abs(x);
+        // 2️⃣ Check if within safe world boundaries (No islands in fade-out regions!)
+        double distanceFromEdge = settings.maxWorldWidth - Math.abs(x);
         double edgeFadeFactor = Math.min(1.0, distanceFromEdge / X_FADE_BAND);
-        if (edgeFadeFactor < 0.6) {
+        if (edgeFadeFactor <= 0.6) {
             return baseBiome;  // Too close to the edge, no island spawn!
         }
 
-        if (isDeepOcean) {
-            // 6️⃣ Build a list of all eligible rare biomes
-            List<Biome> eligibleBiomes = new ArrayList<>();
-
-            // Mushroom Island eligibility criteria
-            if (baseLatVal < 0.9 && rareBiomeChance > 0.84 && breakUpNoise < 0.1) {
-                eligibleBiomes.add(Biomes.MUSHROOM_ISLAND);
-            }
-
-            // Volcano eligibility criteria
-            if (BOP_VOLCANO != null &&
-                    baseLatVal > 0.2f && baseLatVal < 0.7f &&
-                    rareBiomeChance > 0.7 && breakUpNoise < 0.3) {
-                eligibleBiomes.add(BOP_VOLCANO);
-            }
+        // 3️⃣ The island, if any, was decided per cell
+        Biome island = islandCells.getIsland(x, z);
+        return island != null ? island : baseBiome;
+    }
 
-            if (!eligibleBiomes.isEmpty()) {
-                // 7️⃣ Apply Island Spacing & Soft Boundaries
-                final int ISLAND_SPACING = 1200;  // More spacing for less clustering
-                final int ISLAND_RADIUS = 300;    // Slightly larger island radius
-
-                int cellX = Math.floorDiv(x, ISLAND_SPACING);
-                int cellZ = Math.floorDiv(z, ISLAND_SPACING);
-                int centerX = cellX * ISLAND_SPACING + ISLAND_SPACING / 2;
-                int centerZ = cellZ * ISLAND_SPACING + ISLAND_SPACING / 2;
-
-                double dx = x - centerX;
-                double dz = z - centerZ;
-                double distance = Math.sqrt(dx * dx + dz * dz);
-
-                // Use noise for extra wavy effect in island placement
-                double islandWave = fractalNoise(subBiomeNoise, x, z, 2, 0.6, 0.0008, 2.5);
-                boolean isWithinIslandRadius = (distance <= ISLAND_RADIUS + (islandWave * 50));
-
-                // 🚫 Final Check: Don't generate islands outside of safe boundaries!
-                if (isWithinIslandRadius && edgeFadeFactor > 0.6) {
-                    double selectionNoise = fractalNoise(subBiomeNoise, cellX, cellZ, 3, 0.7, 0.001, 2.5);
-                    int index = (int) (Math.abs(selectionNoise) * eligibleBiomes.size()) % eligibleBiomes.size();
-                    return eligibleBiomes.get(index);
-                }
-            }
+    /** Decides the rare island of one cell from the noise at its centre. */
+    private IslandCellRegistry.IslandCell resolveIslandCell(int cellX, int cellZ) {
+        int centerX = IslandCellRegistry.centerOf(cellX);
+        int centerZ = IslandCellRegistry.centerOf(cellZ);
+
+        // Normalized latitude (0 at equator, 1 at pole) with a wavy shift
+        float baseLatVal = latitudeOf(centerZ);
+        double waveEffect = oceanWaveField.getValue(centerX, centerZ) * 0.1;
+        baseLatVal = Math.min(1.0f, Math.max(0.0f, baseLatVal + (float) waveEffect));
+
+        double rareBiomeChance = (rareBiomeField.getValue(centerX, centerZ) + 1.0) / 2.0;  // Normalize to [0,1]
+        double breakUpNoise = breakUpField.getValue(centerX, centerZ);
+
+        // Mushroom Island eligibility criteria
+        boolean mushroom = baseLatVal < 0.9 && rareBiomeChance > 0.84 && breakUpNoise < 0.1;
+
+        // Volcano eligibility criteria
+        boolean volcano = BOP_VOLCANO != null &&
+                baseLatVal > 0.2f && baseLatVal < 0.7f &&
+                rareBiomeChance > 0.7 && breakUpNoise < 0.3;
+
+        Biome biome;
+        if (mushroom && volcano) {
+            double selectionNoise = islandSelectionField.getValue(cellX, cellZ);
+            biome = ((int) (Math.abs(selectionNoise) * 2) % 2) == 0 ? Biomes.MUSHROOM_ISLAND : BOP_VOLCANO;
+        } else if (mushroom) {
+            biome = Biomes.MUSHROOM_ISLAND;
+        } else if (volcano) {
+            biome = BOP_VOLCANO;
+        } else {
+            return IslandCellRegistry.IslandCell.NONE;
         }
 
-        // 8️⃣ Default: return the base deep ocean biome
-        return baseBiome;
+        // Shoreline: base radius pushed in or out by wave noise along the rim
+        float[] radii = new float[IslandCellRegistry.PROFILE_ANGLES];
+        for (int i = 0; i < radii.length; i++) {
+            double angle = IslandCellRegistry.profileAngle(i);
+            int rimX = centerX + (int) Math.round(Math.cos(angle) * IslandCellRegistry.BASE_RADIUS);
+            int rimZ = centerZ + (int) Math.round(Math.sin(angle) * IslandCellRegistry.BASE_RADIUS);
+            radii[i] = (float) (IslandCellRegistry.BASE_RADIUS + islandWaveField.getValue(rimX, rimZ) * IslandCellRegistry.RADIUS_WAVE);
+        }
+        return new IslandCellRegistry.IslandCell(biome, radii);
     }
 
-    private Biome blendTwoBiomes(Biome[] arrA, Biome[] arrB, float alpha, int x, int z) {
-        return (alpha < 0.5f)
-                ? pickSubBiome(arrA, x, z)
-                : pickSubBiome(arrB, x, z);
+    private static ClimateZone blendTwoZones(ClimateZone zoneA, ClimateZone zoneB, float alpha) {
+        return (alpha < 0.5f) ? zoneA : zoneB;
     }
 
     // ~~~~~~~~~ NOISE & FADE HELPERS ~~~~~~~~~
-    private double fractalNoise(NoiseGeneratorSimplex gen,
-                                double x, double z,
-                                int octaves,
-                                double persistence,
-                                double scale,
-                                double lacunarity)
-    {
-        double sum = 0.0;
-        double max = 0.0;
-        double amp = 1.0;
-        double freq = scale;
-
-        for (int i = 0; i < octaves; i++) {
-            double noiseVal = gen.getValue(x * freq, z * freq);
-            sum += noiseVal * amp;
-            max += amp;
-            amp  *= persistence;
-            freq *= lacunarity;
-        }
-        return sum / max; // ~[-1..+1]
-    }
-
     private double fadeTo(double val, double targetVal, int dist, int fadeBand) {
         double alpha = 1.0 - ((double)dist / fadeBand);
         if (alpha < 0.0) alpha = 0.0;
@@ -553,7 +1038,7 @@ public class EarthlikeBiomeProvider extends BiomeProvider {
         return (1.0 - alpha)*val + alpha*targetVal;
     }
 
-    private float fadeAlpha(float latVal, float minVal, float maxVal) {
+    private static float fadeAlpha(float latVal, float minVal, float maxVal) {
         if (latVal <= minVal) return 0f;
         if (latVal >= maxVal) return 1f;
         return (latVal - minVal) / (maxVal - minVal);
@@ -0,0 +1,82 @@
+package com.platuro.neoterra.worldgen;
+
+import com.platuro.neoterra.config.BiomeConfig;
+import com.platuro.neoterra.config.WorldGenSettings;
+import net.minecraft.world.World;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The one {@link EarthlikeBiomeProvider} of each loaded world, keyed by dimension
+ * and seed. The world provider, the chunk generator and the installed biome provider
+ * all ask here, so a world's noise tables, region caches and planet raster exist
+ * once however many of them are created and in whichever order.
+ *
+ * A provider is created with the worldgen settings current when the world first
+ * asks for it and dropped when the world unloads, so the next load of that
+ * dimension picks up a changed config. The planet raster, when enabled, is built in
+ * the background after the provider is registered, so nothing asking for the
+ * provider waits on it.
+ */
+public final class EarthlikeProviderRegistry {
+
+    private static final Map<Key, EarthlikeBiomeProvider> PROVIDERS = new ConcurrentHashMap<>();
+
+    private EarthlikeProviderRegistry() {}
+
+    /** The shared provider of a world, created with its caches on first use. */
+    public static EarthlikeBiomeProvider forWorld(World world) {
+        Key key = new Key(world.provider.getDimension(), world.getSeed());
+        EarthlikeBiomeProvider provider = PROVIDERS.get(key);
+        if (provider != null) return provider;
+
+        boolean[] created = new boolean[1];
+        provider = PROVIDERS.computeIfAbsent(key, k -> {
+            created[0] = true;
+            return create(world);
+        });
+        // Outside computeIfAbsent, which would hold the map's lock for the whole build
+        if (created[0] && provider.getSettings().planetRaster) {
+            provider.buildPlanetRasterAsync();
+        }
+        return provider;
+    }
+
+    /** Forgets the provider of a world that is unloading. */
+    public static void release(World world) {
+        PROVIDERS.remove(new Key(world.provider.getDimension(), world.getSeed()));
+    }
+
+    private static EarthlikeBiomeProvider create(World world) {
+        WorldGenSettings settings = BiomeConfig.getWorldGenSettings();
+        EarthlikeBiomeProvider provider = new EarthlikeBiomeProvider(world.getSeed(), settings);
+        WorldgenCacheFiles files = BiomeConfig.PERSISTENT_CACHE ? WorldgenCacheFiles.forWorld(world, settings) : null;
+        if (files != null) {
+            provider.attachPersistentCache(files);
+        }
+        return provider;
+    }
+
+    private static final class Key {
+        final int dimension;
+        final long seed;
+
+        Key(int dimension, long seed) {
+            this.dimension = dimension;
+            this.seed = seed;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return dimension == other.dimension && seed == other.seed;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * dimension + Long.hashCode(seed);
+        }
+    }
+}
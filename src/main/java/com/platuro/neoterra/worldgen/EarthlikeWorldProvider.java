@@ -9,8 +9,8 @@ public class EarthlikeWorldProvider extends WorldProviderSurface {
 
     @Override
     public void init() {
-        // Create your custom biome provider once
-        this.customProvider = new EarthlikeBiomeProvider(this.world.getSeed());
+        // The same instance the world's chunk generator uses
+        this.customProvider = EarthlikeProviderRegistry.forWorld(this.world);
         this.biomeProvider = customProvider;
     }
 
@@ -0,0 +1,297 @@
+package com.platuro.neoterra.worldgen;
+
+import com.platuro.neoterra.ClimateMod;
+import com.platuro.neoterra.config.BiomeConfig;
+import com.platuro.neoterra.config.WorldGenSettings;
+import com.platuro.neoterra.helpers.NeoTerraLog;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.biome.BiomeProvider;
+import net.minecraft.world.gen.ChunkProviderServer;
+import net.minecraftforge.common.ForgeChunkManager;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the chunks on the far side of a planet edge before a player gets there, so
+ * the wraparound teleport of {@link WorldBoundaryHandler} lands in loaded terrain
+ * instead of generating it in one synchronous burst.
+ *
+ * Every {@link #CHECK_INTERVAL} ticks each player's movement (or their vehicle's) is
+ * extrapolated to the edge it is heading for. Once the crossing is within
+ * edgePrefetchDistance blocks, the chunks around the mirrored destination are queued.
+ * Their world-independent part runs on the common pool first: NeoTerra terrain data,
+ * or the biome caches vanilla terrain reads. The server thread then loads them within
+ * a budget per tick and holds them with chunk tickets until the player has crossed
+ * or turned away.
+ */
+public final class EdgePrefetcher {
+
+    private static final int CHECK_INTERVAL = 10;
+    // A new prediction this many chunks from the loaded destination replaces it
+    private static final int REPLAN_CHUNKS = 2;
+    // Ticks a destination stays loaded after the last prediction that matched it
+    private static final int LINGER_TICKS = 200;
+    // Faster than any vehicle; a jump this large between checks was a teleport
+    private static final double MAX_BLOCKS_PER_TICK = 10.0;
+
+    private static final Map<UUID, Tracker> TRACKERS = new HashMap<>();
+
+    private EdgePrefetcher() {}
+
+    /** Forced-chunk callback: prefetches do not outlive a session, so old tickets are dropped. */
+    public static void releaseTickets(List<ForgeChunkManager.Ticket> tickets, World world) {
+        for (ForgeChunkManager.Ticket ticket : tickets) {
+            ForgeChunkManager.releaseTicket(ticket);
+        }
+    }
+
+    /** Releases every prefetch, e.g. when the server stops. */
+    public static void releaseAll() {
+        for (Tracker tracker : TRACKERS.values()) {
+            if (tracker.prefetch != null) {
+                tracker.prefetch.release();
+            }
+        }
+        TRACKERS.clear();
+    }
+
+    @SubscribeEvent
+    public static void onPlayerTick(TickEvent.PlayerTickEvent event) {
+        EntityPlayer player = event.player;
+        if (event.phase != TickEvent.Phase.END || player.world.isRemote) return;
+        if (player.world.getTotalWorldTime() % CHECK_INTERVAL != 0) return;
+
+        Tracker tracker = TRACKERS.computeIfAbsent(player.getUniqueID(), id -> new Tracker());
+        WorldServer world = (WorldServer) player.world;
+        if (tracker.prefetch != null && tracker.prefetch.world != world) {
+            tracker.release();
+        }
+        if (!BiomeConfig.isNeoTerraDimension(world.provider.getDimension())) return;
+
+        Entity entity = player.isRiding() ? player.getRidingEntity() : player;
+        double vx = (entity.posX - tracker.lastX) / CHECK_INTERVAL;
+        double vz = (entity.posZ - tracker.lastZ) / CHECK_INTERVAL;
+        boolean moving = tracker.tracked && vx * vx + vz * vz <= MAX_BLOCKS_PER_TICK * MAX_BLOCKS_PER_TICK;
+        tracker.lastX = entity.posX;
+        tracker.lastZ = entity.posZ;
+        tracker.tracked = true;
+
+        long now = world.getTotalWorldTime();
+        ChunkPos destination = moving && BiomeConfig.EDGE_PREFETCH_DISTANCE > 0
+                && world.getBiomeProvider() instanceof EarthlikeBiomeProvider
+                ? predictDestination(((EarthlikeBiomeProvider) world.getBiomeProvider()).getSettings(),
+                        entity.posX, entity.posZ, vx, vz, BiomeConfig.EDGE_PREFETCH_DISTANCE)
+                : null;
+
+        Prefetch prefetch = tracker.prefetch;
+        if (destination == null) {
+            if (prefetch != null && now > prefetch.expires) {
+                tracker.release();
+            }
+            return;
+        }
+        if (prefetch != null && Math.abs(prefetch.center.x - destination.x) <= REPLAN_CHUNKS
+                && Math.abs(prefetch.center.z - destination.z) <= REPLAN_CHUNKS) {
+            prefetch.expires = now + LINGER_TICKS;
+            return;
+        }
+        tracker.release();
+        tracker.prefetch = new Prefetch(world, destination, BiomeConfig.EDGE_PREFETCH_RADIUS, now + LINGER_TICKS);
+        NeoTerraLog.count("edgePrefetch.destinations");
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        Tracker tracker = TRACKERS.remove(event.player.getUniqueID());
+        if (tracker != null) {
+            tracker.release();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || TRACKERS.isEmpty()) return;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(BiomeConfig.EDGE_PREFETCH_BUDGET_MS);
+
+        // One chunk per prefetch per round, so a single player cannot starve the others
+        boolean progressed = true;
+        while (progressed && System.nanoTime() < deadline) {
+            progressed = false;
+            for (Tracker tracker : TRACKERS.values()) {
+                if (tracker.prefetch != null && tracker.prefetch.loadNext()) {
+                    progressed = true;
+                }
+                if (System.nanoTime() >= deadline) break;
+            }
+        }
+    }
+
+    /**
+     * Chunk an entity at (x, z) moving by (vx, vz) per tick lands in when it crosses
+     * the edge it reaches first, or null if that is more than {@code distance} blocks
+     * of travel away.
+     */
+    @Nullable
+    static ChunkPos predictDestination(WorldGenSettings settings, double x, double z, double vx, double vz, int distance) {
+        double ticksX = ticksToEdge(x, vx, settings.wrapWidth);
+        double ticksZ = ticksToEdge(z, vz, settings.wrapZLimit);
+        double ticks = Math.min(ticksX, ticksZ);
+        if (Double.isInfinite(ticks) || ticks * Math.sqrt(vx * vx + vz * vz) > distance) {
+            return null;
+        }
+
+        double destX;
+        double destZ;
+        if (ticksX <= ticksZ) {
+            destX = WorldBoundaryHandler.mirroredX(settings, Math.signum(vx));
+            destZ = clamp(z + vz * ticks, settings.wrapZLimit - 5);
+        } else {
+            destX = clamp(x + vx * ticks, settings.wrapWidth - 5);
+            destZ = WorldBoundaryHandler.mirroredZ(settings, Math.signum(vz));
+        }
+        return new ChunkPos((int) Math.floor(destX) >> 4, (int) Math.floor(destZ) >> 4);
+    }
+
+    private static double ticksToEdge(double pos, double velocity, int limit) {
+        if (velocity == 0) return Double.POSITIVE_INFINITY;
+        double remaining = limit - Math.signum(velocity) * pos;
+        return Math.max(0, remaining) / Math.abs(velocity);
+    }
+
+    private static double clamp(double value, double limit) {
+        return Math.max(-limit, Math.min(limit, value));
+    }
+
+    private static final class Tracker {
+        double lastX;
+        double lastZ;
+        boolean tracked;
+        Prefetch prefetch;
+
+        void release() {
+            if (prefetch != null) {
+                prefetch.release();
+                prefetch = null;
+            }
+        }
+    }
+
+    /** The chunks around one predicted destination, loaded nearest first. */
+    private static final class Prefetch {
+        final WorldServer world;
+        final ChunkPos center;
+        final ChunkProviderServer chunkProvider;
+        final NeoTerraChunkGenerator generator; // null unless NeoTerra generates this world
+        final ArrayDeque<ChunkPos> pending = new ArrayDeque<>();
+        final Map<ChunkPos, CompletableFuture<Void>> prepared = new HashMap<>();
+        final List<ForgeChunkManager.Ticket> tickets = new ArrayList<>();
+        long expires;
+        volatile boolean released;
+        boolean ticketsExhausted;
+
+        Prefetch(WorldServer world, ChunkPos center, int radius, long expires) {
+            this.world = world;
+            this.center = center;
+            this.chunkProvider = world.getChunkProvider();
+            this.generator = chunkProvider.chunkGenerator instanceof NeoTerraChunkGenerator
+                    ? (NeoTerraChunkGenerator) chunkProvider.chunkGenerator : null;
+            this.expires = expires;
+
+            for (int ring = 0; ring <= radius; ring++) {
+                for (int dz = -ring; dz <= ring; dz++) {
+                    for (int dx = -ring; dx <= ring; dx++) {
+                        if (Math.max(Math.abs(dx), Math.abs(dz)) != ring) continue;
+                        ChunkPos pos = new ChunkPos(center.x + dx, center.z + dz);
+                        pending.add(pos);
+                        if (chunkProvider.getLoadedChunk(pos.x, pos.z) == null && !chunkProvider.isChunkGeneratedAt(pos.x, pos.z)) {
+                            prepared.put(pos, CompletableFuture.runAsync(() -> prepare(pos)));
+                        }
+                    }
+                }
+            }
+        }
+
+        /** Pool side: the part of generating the chunk that does not touch the world. */
+        private void prepare(ChunkPos pos) {
+            if (released) return;
+            if (generator != null) {
+                generator.offerTerrainData(generator.generateTerrainData(pos.x, pos.z));
+                if (released) {
+                    generator.discardTerrainData(pos.x, pos.z); // raced with release
+                }
+                return;
+            }
+            BiomeProvider provider = world.getBiomeProvider();
+            provider.getBiomes(null, pos.x << 4, pos.z << 4, 16, 16, true);
+            provider.getBiomesForGeneration(null, (pos.x << 2) - 2, (pos.z << 2) - 2, 10, 10);
+        }
+
+        /** Loads and forces the next chunk whose preparation is done; false if there is none yet. */
+        boolean loadNext() {
+            Iterator<ChunkPos> it = pending.iterator();
+            while (it.hasNext()) {
+                ChunkPos pos = it.next();
+                CompletableFuture<Void> future = prepared.get(pos);
+                if (future != null && !future.isDone()) continue;
+                it.remove();
+                prepared.remove(pos);
+
+                chunkProvider.provideChunk(pos.x, pos.z);
+                if (generator != null) {
+                    generator.discardTerrainData(pos.x, pos.z);
+                }
+                force(pos);
+                NeoTerraLog.count("edgePrefetch.chunks");
+                return true;
+            }
+            return false;
+        }
+
+        private void force(ChunkPos pos) {
+            if (ticketsExhausted) return;
+            ForgeChunkManager.Ticket ticket = tickets.isEmpty() ? null : tickets.get(tickets.size() - 1);
+            if (ticket == null || ticket.getChunkList().size() >= ticket.getMaxChunkListDepth()) {
+                ticket = ForgeChunkManager.requestTicket(ClimateMod.instance, world, ForgeChunkManager.Type.NORMAL);
+                if (ticket == null) {
+                    // Out of tickets: the loaded chunks still help until they unload normally
+                    ticketsExhausted = true;
+                    NeoTerraLog.warn("No chunk tickets left for edge prefetching");
+                    return;
+                }
+                tickets.add(ticket);
+            }
+            ForgeChunkManager.forceChunk(ticket, pos);
+        }
+
+        void release() {
+            released = true;
+            for (ForgeChunkManager.Ticket ticket : tickets) {
+                ForgeChunkManager.releaseTicket(ticket);
+            }
+            tickets.clear();
+            if (generator != null) {
+                for (ChunkPos pos : pending) {
+                    generator.discardTerrainData(pos.x, pos.z);
+                }
+            }
+            pending.clear();
+            prepared.clear();
+        }
+    }
+}
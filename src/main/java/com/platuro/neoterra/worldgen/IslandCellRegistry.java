@@ -0,0 +1,99 @@
+package com.platuro.neoterra.worldgen;
+
+import net.minecraft.world.biome.Biome;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rare ocean islands, resolved once per 1200-block cell and cached.
+ *
+ * Each cell holds at most one island centred in the cell. Whether it has one, which
+ * biome it is and how far its shore reaches in each direction are decided once by
+ * the {@link CellResolver}; after that a sample only needs a distance check, and
+ * samples outside {@link #MAX_RADIUS} of the centre need nothing at all.
+ *
+ * Cells are never evicted: a planet of the maximum configured size has a few
+ * thousand of them, and the default one a few hundred.
+ */
+public class IslandCellRegistry {
+
+    /** Decides the island of one cell. */
+    public interface CellResolver {
+        IslandCell resolve(int cellX, int cellZ);
+    }
+
+    public static final int CELL_SIZE   = 1200;
+    public static final int BASE_RADIUS = 300;
+    public static final int RADIUS_WAVE = 50;
+    public static final int MAX_RADIUS  = BASE_RADIUS + RADIUS_WAVE;
+
+    /** Directions the shoreline radius is sampled in; radii in between are interpolated. */
+    public static final int PROFILE_ANGLES = 16;
+
+    private final ConcurrentHashMap<Long, IslandCell> cells = new ConcurrentHashMap<>();
+    private final CellResolver resolver;
+
+    public IslandCellRegistry(CellResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    /** Island biome covering the block, or null if there is none. */
+    public Biome getIsland(int x, int z) {
+        int cellX = Math.floorDiv(x, CELL_SIZE);
+        int cellZ = Math.floorDiv(z, CELL_SIZE);
+        int dx = x - centerOf(cellX);
+        int dz = z - centerOf(cellZ);
+        if (dx > MAX_RADIUS || dx < -MAX_RADIUS || dz > MAX_RADIUS || dz < -MAX_RADIUS) {
+            return null;
+        }
+        IslandCell cell = getCell(cellX, cellZ);
+        return cell.contains(dx, dz) ? cell.biome : null;
+    }
+
+    public IslandCell getCell(int cellX, int cellZ) {
+        return cells.computeIfAbsent(BiomeRegionCache.pack(cellX, cellZ), key -> resolver.resolve(cellX, cellZ));
+    }
+
+    public static int centerOf(int cell) {
+        return cell * CELL_SIZE + CELL_SIZE / 2;
+    }
+
+    /** Angle of profile entry {@code i}, in radians. */
+    public static double profileAngle(int i) {
+        return i * (2.0 * Math.PI / PROFILE_ANGLES);
+    }
+
+    public static final class IslandCell {
+        public static final IslandCell NONE = new IslandCell(null, null);
+
+        private final Biome biome;
+        private final float[] radii;
+
+        /**
+         * @param radii shoreline distance from the centre at each {@link #profileAngle}
+         */
+        public IslandCell(Biome biome, float[] radii) {
+            this.biome = biome;
+            this.radii = radii;
+        }
+
+        public Biome getBiome() {
+            return biome;
+        }
+
+        /** Whether the offset from the cell centre lies on the island. */
+        boolean contains(int dx, int dz) {
+            if (biome == null) return false;
+            double distSq = (double) dx * dx + (double) dz * dz;
+            if (distSq > (double) MAX_RADIUS * MAX_RADIUS) return false;
+
+            double angle = Math.atan2(dz, dx);
+            if (angle < 0) angle += 2.0 * Math.PI;
+            double pos = angle * (PROFILE_ANGLES / (2.0 * Math.PI));
+            int i = (int) pos;
+            double t = pos - i;
+            double radius = radii[i % PROFILE_ANGLES] * (1.0 - t) + radii[(i + 1) % PROFILE_ANGLES] * t;
+            return distSq <= radius * radius;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.platuro.neoterra.worldgen;
+
+import com.platuro.neoterra.helpers.NeoTerraLog;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Fixed-size 256-byte entries on disk, one per (x, z), filled lazily and read back
+ * through memory-mapped files so the OS page cache holds them instead of the heap.
+ *
+ * Entries are grouped 32x32 to a file. Each file starts with a header (magic, format
+ * version, seed, settings hash) and a checksum per entry; a file whose header does
+ * not match is cleared and reused. Access to one file is synchronised.
+ *
+ * The mapping is only forced to disk on close, and the OS writes dirty pages back in
+ * any order, so after a crash a checksum may be on disk without its entry or the
+ * other way round. An entry therefore only counts as present if its data matches its
+ * checksum, which is salted with the seed and settings hash so leftovers from an
+ * earlier header never match either; anything else is a miss and is generated again.
+ */
+final class MappedRegionStore {
+
+    static final int ENTRY_BYTES = 256;
+
+    private static final int MAGIC = 0x4E544331; // "NTC1"
+    private static final int FORMAT_VERSION = 2;
+
+    private static final int FILE_SHIFT = 5;
+    private static final int FILE_MASK = (1 << FILE_SHIFT) - 1;
+    private static final int ENTRIES = 1 << (FILE_SHIFT * 2);
+
+    static final int HEADER_BYTES = 32;
+    private static final int CHECKSUM_BYTES = ENTRIES * 4;
+    static final int DATA_OFFSET = HEADER_BYTES + CHECKSUM_BYTES;
+    private static final int FILE_BYTES = DATA_OFFSET + ENTRIES * ENTRY_BYTES;
+
+    // Stands in for a file that could not be opened; reads miss, writes are dropped
+    private static final MappedFile UNAVAILABLE = new MappedFile(null, 0);
+
+    private final File directory;
+    private final long seed;
+    private final int settingsHash;
+    private final int checksumSalt;
+    private final Map<Long, MappedFile> files = new ConcurrentHashMap<>();
+
+    MappedRegionStore(File directory, long seed, int settingsHash) {
+        this.directory = directory;
+        this.seed = seed;
+        this.settingsHash = settingsHash;
+        this.checksumSalt = Long.hashCode(seed) * 31 + settingsHash;
+    }
+
+    /** Copies entry (x, z) into {@code out}; false if it has not been stored yet. */
+    boolean read(int x, int z, byte[] out) {
+        return file(x, z).read(entryIndex(x, z), out);
+    }
+
+    void write(int x, int z, byte[] data) {
+        file(x, z).write(entryIndex(x, z), data);
+    }
+
+    /** Flushes every open file to disk and forgets them. */
+    void close() {
+        for (MappedFile file : files.values()) {
+            file.force();
+        }
+        files.clear();
+    }
+
+    private static int entryIndex(int x, int z) {
+        return ((z & FILE_MASK) << FILE_SHIFT) | (x & FILE_MASK);
+    }
+
+    private MappedFile file(int x, int z) {
+        long key = BiomeRegionCache.pack(x >> FILE_SHIFT, z >> FILE_SHIFT);
+        MappedFile file = files.get(key);
+        return file != null ? file : files.computeIfAbsent(key, k -> open(x >> FILE_SHIFT, z >> FILE_SHIFT));
+    }
+
+    private MappedFile open(int fileX, int fileZ) {
+        File path = new File(directory, "r." + fileX + "." + fileZ + ".ntc");
+        try {
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Could not create " + directory);
+            }
+            // The mapping stays valid after the channel is closed
+            try (RandomAccessFile raf = new RandomAccessFile(path, "rw");
+                 FileChannel channel = raf.getChannel()) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_BYTES);
+                MappedFile file = new MappedFile(buffer, checksumSalt);
+                file.validate(seed, settingsHash);
+                return file;
+            }
+        } catch (IOException e) {
+            NeoTerraLog.warn("Could not open worldgen cache file {}", path, e);
+            return UNAVAILABLE;
+        }
+    }
+
+    private static final class MappedFile {
+        private final MappedByteBuffer buffer;
+        private final int checksumSalt;
+        private final CRC32 crc = new CRC32();
+
+        MappedFile(MappedByteBuffer buffer, int checksumSalt) {
+            this.buffer = buffer;
+            this.checksumSalt = checksumSalt;
+        }
+
+        synchronized void validate(long seed, int settingsHash) {
+            if (buffer.getInt(0) == MAGIC && buffer.getInt(4) == FORMAT_VERSION
+                    && buffer.getLong(8) == seed && buffer.getInt(16) == settingsHash) {
+                return;
+            }
+            for (int i = HEADER_BYTES; i < DATA_OFFSET; i++) {
+                buffer.put(i, (byte) 0);
+            }
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, FORMAT_VERSION);
+            buffer.putLong(8, seed);
+            buffer.putInt(16, settingsHash);
+        }
+
+        synchronized boolean read(int entry, byte[] out) {
+            if (buffer == null) return false;
+            int stored = buffer.getInt(HEADER_BYTES + entry * 4);
+            if (stored == 0) return false;
+            ByteBuffer view = buffer.duplicate();
+            view.position(DATA_OFFSET + entry * ENTRY_BYTES);
+            view.get(out, 0, ENTRY_BYTES);
+            if (checksum(out) != stored) {
+                NeoTerraLog.count("worldgenCache.badEntries");
+                return false;
+            }
+            return true;
+        }
+
+        synchronized void write(int entry, byte[] data) {
+            if (buffer == null) return;
+            ByteBuffer view = buffer.duplicate();
+            view.position(DATA_OFFSET + entry * ENTRY_BYTES);
+            view.put(data, 0, ENTRY_BYTES);
+            buffer.putInt(HEADER_BYTES + entry * 4, checksum(data));
+        }
+
+        // Never 0, which marks an entry that was never written
+        private int checksum(byte[] data) {
+            crc.reset();
+            crc.update(data, 0, ENTRY_BYTES);
+            int sum = (int) crc.getValue() ^ checksumSalt;
+            return sum != 0 ? sum : 1;
+        }
+
+        synchronized void force() {
+            if (buffer != null) buffer.force();
+        }
+    }
+}
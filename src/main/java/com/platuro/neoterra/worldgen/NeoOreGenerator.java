@@ -1,11 +1,13 @@
 package com.platuro.neoterra.worldgen;
 
 import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import com.platuro.neoterra.config.ConfigFileStamp;
+import com.platuro.neoterra.helpers.NeoTerraLog;
 import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.common.BiomeDictionary;
 import net.minecraftforge.common.config.Configuration;
 import net.minecraftforge.event.world.WorldEvent;
-import net.minecraftforge.fml.common.FMLLog;
 import net.minecraftforge.fml.common.registry.ForgeRegistries;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
@@ -24,8 +26,10 @@ import java.util.*;
 public class NeoOreGenerator implements IWorldGenerator {
 
     private static final int MAX_PLANET_WIDTH = 10000;
-    private final Map<String, OreVein> oreVeins = new HashMap<>();
+    private volatile OreVeinIndex index = OreVeinIndex.EMPTY;
     private final File configFile;
+    private ConfigFileStamp configStamp; // null until the config was first parsed
+    private String[] detectedOres;       // the block registry is frozen by then, so scanned once
 
     public NeoOreGenerator(File configDir) {
         MinecraftForge.ORE_GEN_BUS.register(this);
@@ -38,19 +42,24 @@ public class NeoOreGenerator implements IWorldGenerator {
         Configuration config = new Configuration(configFile);
         config.load();
 
-        String[] oreData = config.getStringList("Ores", "ores", detectOres(), "Define ore veins");
+        if (detectedOres == null) {
+            detectedOres = detectOres();
+        }
+        String[] oreData = config.getStringList("Ores", "ores", detectedOres, "Define ore veins");
 
-        FMLLog.info("[NeoOreGen] Loading Config File: %s", configFile.getAbsolutePath());
-        FMLLog.info("[NeoOreGen] Found %d ores in config!", oreData.length);
+        NeoTerraLog.info("[NeoOreGen] Loading Config File: {}", configFile.getAbsolutePath());
+        NeoTerraLog.info("[NeoOreGen] Found {} ores in config!", oreData.length);
 
+        // Built from scratch, so veins removed from the file are gone after a reload
+        Map<String, OreVein> oreVeins = new LinkedHashMap<>();
         for (String entry : oreData) {
 
             String[] parts = entry.split(",");
 
-            FMLLog.info("[NeoOreGen] Parsed Parts (%d): %s", parts.length, Arrays.toString(parts));
+            NeoTerraLog.debug("[NeoOreGen] Parsed Parts ({}): {}", parts.length, Arrays.toString(parts));
 
             if (parts.length != 10) {  // Expecting 9 parts
-                FMLLog.info("[NeoOreGen] Invalid entry (wrong number of values): %s", entry);
+                NeoTerraLog.warn("[NeoOreGen] Invalid entry (wrong number of values): {}", entry);
                 continue;
             }
 
@@ -69,10 +78,14 @@ public class NeoOreGenerator implements IWorldGenerator {
             double densityMultiplier = Double.parseDouble(parts[9].trim());  // New parameter
 
             oreVeins.put(oreName, new OreVein(oreName, blockName, veinSize, minY, maxY, spawnChance, biomeType, minLatitude, maxLatitude, densityMultiplier));
-            FMLLog.info("[NeoOreGen] Registered Vein: %s - Block: %s - Biome: %s", oreName, blockName, biomeTypeString);
+            NeoTerraLog.debug("[NeoOreGen] Registered Vein: {} - Block: {} - Biome: {}", oreName, blockName, biomeTypeString);
         }
 
-        config.save();
+        if (config.hasChanged()) {
+            config.save();
+        }
+        configStamp = ConfigFileStamp.of(configFile);
+        index = OreVeinIndex.compile(oreVeins.values());
     }
 
 
@@ -98,66 +111,70 @@ public class NeoOreGenerator implements IWorldGenerator {
         if (world.provider.getDimension() != 0) return;
 
         if (chunkX % 4 == 0 && chunkZ % 4 == 0) {
-            generateOreVeins(world, random, chunkX, chunkZ);
+            boolean tracked = CascadeDetector.enter(CascadeDetector.Stage.ORE, world, chunkX, chunkZ);
+            try {
+                generateOreVeins(world, random, chunkX, chunkZ);
+            } finally {
+                if (tracked) CascadeDetector.exit();
+            }
         }
     }
 
     private void generateOreVeins(World world, Random random, int chunkX, int chunkZ) {
-        Biome biome = world.getBiome(new BlockPos(chunkX * 16, 64, chunkZ * 16));
-        Set<BiomeDictionary.Type> biomeTypes = BiomeDictionary.getTypes(biome);
+        Biome biome = world.getBiome(new BlockPos(chunkX * 16 + 16, 64, chunkZ * 16 + 16));
         double latitude = getLatitude(chunkZ * 16);
-        List<OreVein> possibleVeins = new ArrayList<>();
+        OreVein[] possibleVeins = index.candidates(biome, latitude);
 
-        for (OreVein vein : oreVeins.values()) {
-            if (vein.isValidBiome(biomeTypes) && vein.isValidLatitude(latitude)) {
-                possibleVeins.add(vein);
-            }
-        }
-
-        if (!possibleVeins.isEmpty()) {
-            OreVein selectedVein = possibleVeins.get(random.nextInt(possibleVeins.size()));
+        if (possibleVeins.length > 0) {
+            OreVein selectedVein = possibleVeins[random.nextInt(possibleVeins.length)];
             generateOreCluster(world, random, chunkX, chunkZ, selectedVein);
-            FMLLog.info("[NeoOreGen] Selected %s for Chunk [%d, %d]", selectedVein.oreName, chunkX, chunkZ);
+            NeoTerraLog.count("ore.veins");
+            NeoTerraLog.debug("[NeoOreGen] Selected {} for Chunk [{}, {}]", selectedVein.oreName, chunkX, chunkZ);
         }
     }
 
 
-    private void generateOreCluster(World world, Random random, int chunkX, int chunkZ, OreVein vein) {
+    static void generateOreCluster(World world, Random random, int chunkX, int chunkZ, OreVein vein) {
         int minY = vein.minY;
         int maxY = vein.maxY;
 
-        int centerX = chunkX * 16 + 8;
-        int centerZ = chunkZ * 16 + 8;
+        // Centre of the decoration window [chunk*16+8, chunk*16+23], whose four chunks are
+        // all loaded while populating; the spread is capped so no block leaves it
+        int centerX = chunkX * 16 + 16;
+        int centerZ = chunkZ * 16 + 16;
         int centerY = minY + random.nextInt(maxY - minY);
 
         int veinLength = Math.max(12, vein.veinSize);
         int veinWidth = Math.max(6, vein.veinSize);
         int veinHeight = Math.max(4, vein.veinSize);
+        int spread = Math.min(veinWidth, 16);
 
-        FMLLog.info("[NeoOreGen] Creating Vein %s at [%d, %d, %d] - Density: %.2f",
+        NeoTerraLog.debug("[NeoOreGen] Creating Vein {} at [{}, {}, {}] - Density: {}",
                 vein.oreName, centerX, centerY, centerZ, vein.densityMultiplier);
 
+        int placed = 0;
         for (int i = 0; i < veinLength; i++) {
             for (int j = 0; j < veinWidth; j++) {
                 for (int k = 0; k < veinHeight; k++) {
-                    int x = centerX + (random.nextInt(veinWidth) - veinWidth / 2);
+                    int x = centerX + (random.nextInt(spread) - spread / 2);
                     int y = Math.max(minY, Math.min(centerY + (random.nextInt(veinHeight) - veinHeight / 2), maxY));
-                    int z = centerZ + (random.nextInt(veinWidth) - veinWidth / 2);
+                    int z = centerZ + (random.nextInt(spread) - spread / 2);
 
                     // 🔥 **Directly apply density multiplier to force full placement**
                     double placementChance = Math.min(1.0, vein.densityMultiplier / 10.0);  // Allows up to 100% fill
 
                     if (random.nextDouble() < placementChance) {
-                        world.setBlockState(new BlockPos(x, y, z), getOreBlock(vein.blockName), 2);
-                        FMLLog.info("[NeoOreGen] Placed %s at [%d, %d, %d]", vein.oreName, x, y, z);
+                        world.setBlockState(new BlockPos(x, y, z), vein.state, 2);
+                        placed++;
                     }
                 }
             }
         }
+        NeoTerraLog.count("ore.blocksPlaced", placed);
     }
 
 
-    private net.minecraft.block.state.IBlockState getOreBlock(String blockName) {
+    private static IBlockState getOreBlock(String blockName) {
         Block block = ForgeRegistries.BLOCKS.getValue(new ResourceLocation(blockName));
         return block != null ? block.getDefaultState() : net.minecraft.init.Blocks.STONE.getDefaultState();
     }
@@ -169,7 +186,10 @@ public class NeoOreGenerator implements IWorldGenerator {
 
     @SubscribeEvent
     public void onWorldLoad(WorldEvent.Load event) {
-        loadConfig(this.configFile);
+        // Fires once per dimension; only parse again if the file changed
+        if (configStamp == null || !configStamp.isCurrent(configFile)) {
+            loadConfig(this.configFile);
+        }
     }
 
     private double getLatitude(int z) {
@@ -188,6 +208,7 @@ public class NeoOreGenerator implements IWorldGenerator {
         double minLatitude;
         double maxLatitude;
         double densityMultiplier;  // NEW
+        final IBlockState state;   // Resolved once from blockName
 
         OreVein(String oreName, String blockName, int veinSize, int minY, int maxY, double spawnChance, BiomeDictionary.Type requiredBiome, double minLatitude, double maxLatitude, double densityMultiplier) {
             this.oreName = oreName;
@@ -200,6 +221,7 @@ public class NeoOreGenerator implements IWorldGenerator {
             this.minLatitude = minLatitude;
             this.maxLatitude = maxLatitude;
             this.densityMultiplier = densityMultiplier; // NEW
+            this.state = getOreBlock(blockName);
         }
 
         boolean isValidBiome(Set<BiomeDictionary.Type> biomeTypes) {
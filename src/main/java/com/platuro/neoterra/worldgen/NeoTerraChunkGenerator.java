@@ -1,5 +1,6 @@
 package com.platuro.neoterra.worldgen;
 
+import net.minecraft.block.BlockFalling;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.EnumCreatureType;
 import net.minecraft.init.Biomes;
@@ -11,98 +12,344 @@ import net.minecraft.world.biome.Biome;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.ChunkPrimer;
 import net.minecraft.world.gen.IChunkGenerator;
-import net.minecraft.world.gen.NoiseGeneratorPerlin;
 import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.ForgeEventFactory;
+import com.platuro.neoterra.config.BiomeConfig;
+import com.platuro.neoterra.config.WorldGenSettings;
+import com.platuro.neoterra.worldgen.noise.FractalNoise;
+import com.platuro.neoterra.worldgen.noise.SimplexNoise;
 
 import javax.annotation.Nullable;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Terrain generator for NeoTerra planets.
+ *
+ * Thread-safety contract: {@link #generateTerrainData}, {@link #generateChunkData} and
+ * {@link #generateChunkDataAsync} may be called from any number of threads at once
+ * and give the same result for a chunk whichever thread computes it. This holds because
+ *  - noise state is immutable after construction,
+ *  - the biome provider and the blend field cache are thread-safe,
+ *  - scratch buffers are per thread, and
+ *  - nothing draws from a shared Random: populate seeds a Random per chunk.
+ * Everything that touches the world ({@link #generateChunk}, {@link #createChunk},
+ * {@link #populate}) stays on the server thread, as in vanilla.
+ */
 public class NeoTerraChunkGenerator implements IChunkGenerator {
 
     private final World world;
     private final EarthlikeBiomeProvider biomeProvider;
-    private final NoiseGeneratorPerlin terrainNoise;
-    private final NoiseGeneratorPerlin riverNoise;
-    private final Random random;
+    private final FractalNoise terrainNoise;    // 3 perlin levels at 0.002
+    private final FractalNoise oceanFloorNoise; // same levels at 0.001
+    private final FractalNoise riverNoise;
+    private final long seed;
+    private final WorldgenCacheFiles cacheFiles; // null when persistence is off
     private final int seaLevel = 63;
 
+    // Per-thread buffers for generateTerrainData
+    private static final ThreadLocal<double[]> TERRAIN_SCRATCH = ThreadLocal.withInitial(() -> new double[256]);
+    private static final ThreadLocal<double[]> OCEAN_FLOOR_SCRATCH = ThreadLocal.withInitial(() -> new double[256]);
+    private static final ThreadLocal<double[][]> HEIGHT_SCRATCH = ThreadLocal.withInitial(() -> new double[16][16]);
+
+    // Blend fields cover 4x4 chunks, so neighbouring chunks share them
+    private static final int BLEND_FIELD_CACHE_SIZE = 64;
+    private final Map<Long, BiomeBlendField> blendFields =
+            new LinkedHashMap<Long, BiomeBlendField>(BLEND_FIELD_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, BiomeBlendField> eldest) {
+                    return size() > BLEND_FIELD_CACHE_SIZE;
+                }
+            };
+
+    // Terrain data computed ahead of time (e.g. by pregeneration), consumed by generateChunk
+    private final Map<Long, ChunkTerrainData> pendingTerrain = new ConcurrentHashMap<>();
+
     public NeoTerraChunkGenerator(World world) {
         this.world = world;
-        this.biomeProvider = new EarthlikeBiomeProvider(world.getSeed());
-        this.random = new Random(world.getSeed());
-        this.terrainNoise = new NoiseGeneratorPerlin(random, 3);
-        this.riverNoise = new NoiseGeneratorPerlin(random, 2);
+        // Shared with the world's installed biome provider, caches included
+        this.biomeProvider = EarthlikeProviderRegistry.forWorld(world);
+        this.seed = world.getSeed();
+        Random random = new Random(seed);
+        // Levels consume the seed the same way NoiseGeneratorPerlin(random, n) does
+        SimplexNoise[] terrainLevels = FractalNoise.levels(random, 3);
+        this.terrainNoise = FractalNoise.perlin(terrainLevels, 0.002);
+        this.oceanFloorNoise = FractalNoise.perlin(terrainLevels, 0.001);
+        this.riverNoise = FractalNoise.perlin(FractalNoise.levels(random, 2), 1.0);
+
+        this.cacheFiles = BiomeConfig.PERSISTENT_CACHE ? WorldgenCacheFiles.forWorld(world, biomeProvider.getSettings()) : null;
+    }
+
+    /** The settings this generator generates with, fixed for its lifetime. */
+    public WorldGenSettings getSettings() {
+        return biomeProvider.getSettings();
+    }
+
+    /** Land columns whose surface is below this become rivers. */
+    public int getSeaLevel() {
+        return seaLevel;
     }
 
     @Override
     public Chunk generateChunk(int chunkX, int chunkZ) {
+        return createChunk(generateChunkData(chunkX, chunkZ));
+    }
+
+    /**
+     * Wraps generated data into a Chunk. Server thread only; this is all that is left
+     * to do there after {@link #generateChunkDataAsync}.
+     */
+    public Chunk createChunk(ChunkPrimerData data) {
+        Chunk chunk = new Chunk(world, data.getPrimer(), data.getChunkX(), data.getChunkZ());
+        byte[] biomeArray = chunk.getBiomeArray();
+        System.arraycopy(data.getBiomeIds(), 0, biomeArray, 0, biomeArray.length);
+
+        chunk.generateSkylightMap();
+        return chunk;
+    }
+
+    /** Blocks and biomes of a chunk on the given executor. */
+    public CompletableFuture<ChunkPrimerData> generateChunkDataAsync(int chunkX, int chunkZ, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> generateChunkData(chunkX, chunkZ), executor);
+    }
+
+    /** Blocks and biomes of a chunk on the common ForkJoin pool. */
+    public CompletableFuture<ChunkPrimerData> generateChunkDataAsync(int chunkX, int chunkZ) {
+        return generateChunkDataAsync(chunkX, chunkZ, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Blocks and biomes of a chunk, without touching the world. Uses terrain data
+     * handed off through {@link #offerTerrainData} if there is any. Safe to call from
+     * any thread.
+     */
+    public ChunkPrimerData generateChunkData(int chunkX, int chunkZ) {
+        ChunkTerrainData data = pendingTerrain.remove(BiomeRegionCache.pack(chunkX, chunkZ));
+        if (data == null) {
+            data = generateTerrainData(chunkX, chunkZ);
+        }
+
         ChunkPrimer primer = new ChunkPrimer();
-        double[][] heightMap = new double[16][16];
+        fillPrimer(primer, data);
 
-        // **Completely Remove Distance-Based Scaling**
-        double fixedHeightFactor = 1.0;  // Ensure land and ocean behave consistently
+        Biome[] biomes = data.getBiomes();
+        byte[] biomeIds = new byte[biomes.length];
+        for (int i = 0; i < biomeIds.length; i++) {
+            biomeIds[i] = (byte) (Biome.getIdForBiome(biomes[i]) & 0xFF);
+        }
+        return new ChunkPrimerData(chunkX, chunkZ, primer, biomeIds);
+    }
+
+    /**
+     * Heights and biomes of a chunk, without touching the world. Safe to call from
+     * any thread.
+     */
+    public ChunkTerrainData generateTerrainData(int chunkX, int chunkZ) {
+        WorldgenCacheFiles files = this.cacheFiles;
+        int[] storedHeights = storedHeights(chunkX, chunkZ);
+        if (storedHeights != null) {
+            return toTerrainData(chunkX, chunkZ, storedHeights,
+                    biomeProvider.getBiomes(null, chunkX << 4, chunkZ << 4, 16, 16, true));
+        }
+
+        double[][] heightMap = HEIGHT_SCRATCH.get();
+
+        // Every biome lookup of this chunk is served from one tile
+        BiomeBlendField field = getBlendField(BiomeBlendField.regionOf(chunkX << 2), BiomeBlendField.regionOf(chunkZ << 2));
+        ChunkBiomeTile tile = new ChunkBiomeTile(biomeProvider, field, chunkX, chunkZ);
+
+        double[] terrainValues = TERRAIN_SCRATCH.get();
+        double[] oceanFloorValues = OCEAN_FLOOR_SCRATCH.get();
+        terrainNoise.fillGrid(terrainValues, chunkX << 4, chunkZ << 4, 16, 16, 1);
+        oceanFloorNoise.fillGrid(oceanFloorValues, chunkX << 4, chunkZ << 4, 16, 16, 1);
 
         // First pass: Generate terrain height map
         for (int x = 0; x < 16; x++) {
             for (int z = 0; z < 16; z++) {
-                int worldX = (chunkX << 4) + x;
-                int worldZ = (chunkZ << 4) + z;
+                heightMap[x][z] = columnHeight(tile, x, z, terrainValues[z * 16 + x], oceanFloorValues[z * 16 + x]);
+            }
+        }
 
-                // Get biome and neighboring biomes for smooth transitions
-                Biome biome = biomeProvider.getBiome(new BlockPos(worldX, 0, worldZ));
-                float[] transitionData = getBiomeTransitionData(worldX, worldZ);
-                float blendFactor = transitionData[0]; // 0 = full ocean, 1 = full land
-                float avgBaseHeight = transitionData[1];
-                float avgHeightVariation = transitionData[2];
+        // Second pass: round heights
+        int[] heights = new int[256];
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                heights[z * 16 + x] = (int) heightMap[x][z];
+            }
+        }
+
+        if (files != null) {
+            byte[] stored = new byte[MappedRegionStore.ENTRY_BYTES];
+            for (int i = 0; i < 256; i++) {
+                stored[i] = (byte) heights[i];
+            }
+            files.heights.write(chunkX, chunkZ, stored);
+        }
+        return toTerrainData(chunkX, chunkZ, heights, tile.getColumnBiomes());
+    }
 
-                // **Absolute terrain noise without scaling over distance**
-                double baseNoise = terrainNoise.getValue(worldX * 0.002, worldZ * 0.002) * 10 * fixedHeightFactor;
-                double terrainHeight = seaLevel + baseNoise + avgBaseHeight * 8 + avgHeightVariation * 4;
+    /**
+     * Height of one column before rounding, from its chunk's biome tile and the two
+     * noise values at the column.
+     */
+    private double columnHeight(ChunkBiomeTile tile, int x, int z, double terrainValue, double oceanFloorValue) {
+        // **Completely Remove Distance-Based Scaling**
+        double fixedHeightFactor = 1.0;  // Ensure land and ocean behave consistently
 
-                // **Ensure Oceans Stay Below Sea Level**
-                double oceanDepth = getEnforcedOceanDepth(worldX, worldZ, blendFactor);
+        // Get biome and neighboring biomes for smooth transitions
+        Biome biome = tile.getColumnBiome(x, z);
+        float[] transitionData = getBiomeTransitionData(tile, x, z);
+        float blendFactor = transitionData[0]; // 0 = full ocean, 1 = full land
+        float avgBaseHeight = transitionData[1];
+        float avgHeightVariation = transitionData[2];
 
-                // **Fix land not rising aggressively over distance**
-                double landBoost = blendFactor * 5;  // Ensures smooth elevation growth but no world scaling
+        // **Absolute terrain noise without scaling over distance**
+        double baseNoise = terrainValue * 10 * fixedHeightFactor;
+        double terrainHeight = seaLevel + baseNoise + avgBaseHeight * 8 + avgHeightVariation * 4;
 
-                // **Smooth ocean-to-land transition while keeping heights stable**
-                double transitionFactor = MathHelper.clamp((blendFactor - 0.4f) / 0.8f, 0, 1);
-                terrainHeight = terrainHeight * transitionFactor + oceanDepth * (1 - transitionFactor) + landBoost;
+        // **Ensure Oceans Stay Below Sea Level**
+        double oceanDepth = getEnforcedOceanDepth(oceanFloorValue, blendFactor, biome);
 
-                // Apply coastline smoothing if near the ocean
-                terrainHeight = smoothCoastline(worldX, worldZ, terrainHeight, blendFactor);
+        // **Fix land not rising aggressively over distance**
+        double landBoost = blendFactor * 5;  // Ensures smooth elevation growth but no world scaling
 
-                // Clamp height to prevent extreme terrain
-                double finalHeight = MathHelper.clamp(terrainHeight, 1, 255);
-                heightMap[x][z] = finalHeight;
+        // **Smooth ocean-to-land transition while keeping heights stable**
+        double transitionFactor = MathHelper.clamp((blendFactor - 0.4f) / 0.8f, 0, 1);
+        terrainHeight = terrainHeight * transitionFactor + oceanDepth * (1 - transitionFactor) + landBoost;
+
+        // Apply coastline smoothing if near the ocean
+        terrainHeight = smoothCoastline(tile, x, z, terrainHeight);
+
+        // Clamp height to prevent extreme terrain
+        return MathHelper.clamp(terrainHeight, 1, 255);
+    }
+
+    /**
+     * Y of the top terrain block of a column, as {@link #generateTerrainData} would
+     * produce it, without generating or loading the chunk. Water above it up to sea
+     * level and anything placed by population are not included. Safe to call from
+     * any thread.
+     */
+    public int getSurfaceHeight(int x, int z) {
+        int[] height = new int[1];
+        getSurfaceHeights(x, z, 1, 1, height);
+        return height[0];
+    }
+
+    /**
+     * {@link #getSurfaceHeight} for a rectangle of columns, written to {@code out} in
+     * row order (z * width + x). Chunks whose heights are already known (handed off or
+     * in the persistent cache) are copied; the others compute just the requested
+     * columns, so a query does not pay for whole chunks.
+     */
+    public void getSurfaceHeights(int x0, int z0, int width, int depth, int[] out) {
+        double[] terrainValues = TERRAIN_SCRATCH.get();
+        double[] oceanFloorValues = OCEAN_FLOOR_SCRATCH.get();
+
+        for (int chunkZ = z0 >> 4; chunkZ <= (z0 + depth - 1) >> 4; chunkZ++) {
+            for (int chunkX = x0 >> 4; chunkX <= (x0 + width - 1) >> 4; chunkX++) {
+                // The part of the rectangle inside this chunk
+                int minX = Math.max(x0, chunkX << 4);
+                int minZ = Math.max(z0, chunkZ << 4);
+                int maxX = Math.min(x0 + width, (chunkX << 4) + 16);
+                int maxZ = Math.min(z0 + depth, (chunkZ << 4) + 16);
+                int spanX = maxX - minX;
+
+                int[] known = knownHeights(chunkX, chunkZ);
+                if (known != null) {
+                    for (int z = minZ; z < maxZ; z++) {
+                        for (int x = minX; x < maxX; x++) {
+                            out[(z - z0) * width + (x - x0)] = known[(z & 15) * 16 + (x & 15)];
+                        }
+                    }
+                    continue;
+                }
+
+                BiomeBlendField field = getBlendField(BiomeBlendField.regionOf(chunkX << 2), BiomeBlendField.regionOf(chunkZ << 2));
+                ChunkBiomeTile tile = new ChunkBiomeTile(biomeProvider, field, chunkX, chunkZ);
+                terrainNoise.fillGrid(terrainValues, minX, minZ, spanX, maxZ - minZ, 1);
+                oceanFloorNoise.fillGrid(oceanFloorValues, minX, minZ, spanX, maxZ - minZ, 1);
+                for (int z = minZ; z < maxZ; z++) {
+                    for (int x = minX; x < maxX; x++) {
+                        int i = (z - minZ) * spanX + (x - minX);
+                        double height = columnHeight(tile, x & 15, z & 15, terrainValues[i], oceanFloorValues[i]);
+                        out[(z - z0) * width + (x - x0)] = (int) height;
+                    }
+                }
             }
         }
+    }
 
-        // Second pass: Apply height map to terrain
-        for (int x = 0; x < 16; x++) {
-            for (int z = 0; z < 16; z++) {
-                int finalHeight = (int) heightMap[x][z];
-                Biome biome = biomeProvider.getBiome(new BlockPos((chunkX << 4) + x, 0, (chunkZ << 4) + z));
-                if (finalHeight < seaLevel && !isOceanBiome(biome)) {
-                    biome = Biomes.RIVER;
-                }
-                generateTerrainColumn(primer, x, z, finalHeight, biome);
+    /** Heights of a chunk that were handed off or stored before, or null. */
+    @Nullable
+    private int[] knownHeights(int chunkX, int chunkZ) {
+        ChunkTerrainData pending = pendingTerrain.get(BiomeRegionCache.pack(chunkX, chunkZ));
+        return pending != null ? pending.getHeights() : storedHeights(chunkX, chunkZ);
+    }
+
+    /** Heights of a chunk from the persistent cache, or null. */
+    @Nullable
+    private int[] storedHeights(int chunkX, int chunkZ) {
+        WorldgenCacheFiles files = this.cacheFiles;
+        if (files == null) return null;
+        byte[] stored = new byte[MappedRegionStore.ENTRY_BYTES];
+        if (!files.heights.read(chunkX, chunkZ, stored)) return null;
+        int[] heights = new int[256];
+        for (int i = 0; i < 256; i++) {
+            heights[i] = stored[i] & 0xFF;
+        }
+        return heights;
+    }
+
+    /** Surface biomes from column biomes: rivers where land dips below sea level. */
+    private ChunkTerrainData toTerrainData(int chunkX, int chunkZ, int[] heights, Biome[] columnBiomes) {
+        Biome[] surfaceBiomes = new Biome[256];
+        for (int i = 0; i < 256; i++) {
+            Biome biome = columnBiomes[i];
+            if (heights[i] < seaLevel && !isOceanBiome(biome)) {
+                biome = Biomes.RIVER;
             }
+            surfaceBiomes[i] = biome;
         }
+        return new ChunkTerrainData(chunkX, chunkZ, heights, surfaceBiomes, columnBiomes);
+    }
 
-        // Assign biome data
-        Chunk chunk = new Chunk(world, primer, chunkX, chunkZ);
-        byte[] biomeArray = chunk.getBiomeArray();
-        Biome[] biomes = biomeProvider.getBiomes(null, chunkX * 16, chunkZ * 16, 16, 16, true);
+    /**
+     * Hands precomputed terrain data to the next {@link #generateChunk} of that chunk,
+     * so the server thread only places blocks.
+     */
+    public void offerTerrainData(ChunkTerrainData data) {
+        pendingTerrain.put(BiomeRegionCache.pack(data.getChunkX(), data.getChunkZ()), data);
+    }
+
+    /** Drops handed-off data that was not used, e.g. because the chunk already existed. */
+    public void discardTerrainData(int chunkX, int chunkZ) {
+        pendingTerrain.remove(BiomeRegionCache.pack(chunkX, chunkZ));
+    }
 
-        for (int i = 0; i < biomeArray.length; i++) {
-            biomeArray[i] = (byte) (Biome.getIdForBiome(biomes[i]) & 0xFF);
+    /** Places the chunk's blocks, writing whole column runs when the primer allows it. */
+    void fillPrimer(ChunkPrimer primer, ChunkTerrainData data) {
+        if (ColumnFiller.isAvailable()) {
+            new ColumnFiller(seaLevel).fill(primer, data);
+        } else {
+            fillPrimerPerBlock(primer, data);
         }
+    }
 
-        chunk.generateSkylightMap();
-        return chunk;
+    /** Same blocks as {@link #fillPrimer}, one setBlockState at a time. */
+    void fillPrimerPerBlock(ChunkPrimer primer, ChunkTerrainData data) {
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                generateTerrainColumn(primer, x, z, data.getHeight(x, z), data.getSurfaceBiome(x, z));
+            }
+        }
     }
 
     private void generateTerrainColumn(ChunkPrimer primer, int x, int z, int height, Biome biome) {
@@ -135,15 +382,14 @@ public class NeoTerraChunkGenerator implements IChunkGenerator {
 
     // **Ensures Oceans Stay Below Sea Level, But Keeps Terrain Flat**
     // Ensures Oceans Stay Below Sea Level, Now Deeper and More Natural
-    private double getEnforcedOceanDepth(int worldX, int worldZ, float blendFactor) {
-        double oceanNoise = terrainNoise.getValue(worldX * 0.001, worldZ * 0.001) * 6; // More varied noise for ocean floor
+    private double getEnforcedOceanDepth(double oceanFloorValue, float blendFactor, Biome biome) {
+        double oceanNoise = oceanFloorValue * 6; // More varied noise for ocean floor
 
         double deepOceanBase = seaLevel - 40 + oceanNoise; // Make deep oceans much deeper
         double oceanBase = seaLevel - 20 + oceanNoise;     // General ocean depth
         double shallows = seaLevel - 5;                   // Shallow ocean level remains higher
 
         // If it's a deep ocean biome, make it significantly deeper
-        Biome biome = biomeProvider.getBiome(new BlockPos(worldX, 0, worldZ));
         if (biome == Biomes.DEEP_OCEAN) {
             return MathHelper.clamp(deepOceanBase + blendFactor * (shallows - deepOceanBase), deepOceanBase, shallows);
         }
@@ -153,47 +399,48 @@ public class NeoTerraChunkGenerator implements IChunkGenerator {
     }
 
     // **Smooth biome transition calculation**
-    private float[] getBiomeTransitionData(int worldX, int worldZ) {
+    private float[] getBiomeTransitionData(ChunkBiomeTile tile, int localX, int localZ) {
         int sampleRadius = 2;
-        int totalSamples = 0;
-        int nonOceanCount = 0;
-        float baseHeightSum = 0;
-        float heightVariationSum = 0;
-
-        for (int dx = -sampleRadius; dx <= sampleRadius; dx++) {
-            for (int dz = -sampleRadius; dz <= sampleRadius; dz++) {
-                Biome sampleBiome = biomeProvider.getBiome(new BlockPos(worldX + dx * 4, 0, worldZ + dz * 4));
-                totalSamples++;
-
-                if (sampleBiome != Biome.getBiome(0) && sampleBiome != Biome.getBiome(24)) { // Not an ocean
-                    nonOceanCount++;
-                }
+        BiomeBlendField field = tile.getBlendField();
+        int quartX = tile.getQuartX(localX);
+        int quartZ = tile.getQuartZ(localZ);
 
-                baseHeightSum += sampleBiome.getBaseHeight();
-                heightVariationSum += sampleBiome.getHeightVariation();
-            }
-        }
-
-        float blend = (float) nonOceanCount / totalSamples;
-        float avgBaseHeight = baseHeightSum / totalSamples;
-        float avgHeightVariation = heightVariationSum / totalSamples;
+        float blend = field.getLandFraction(quartX, quartZ, sampleRadius);
+        float avgBaseHeight = field.getAverageBaseHeight(quartX, quartZ, sampleRadius);
+        float avgHeightVariation = field.getAverageHeightVariation(quartX, quartZ, sampleRadius);
 
         return new float[]{blend, avgBaseHeight, avgHeightVariation};
     }
 
+    private BiomeBlendField getBlendField(int regionX, int regionZ) {
+        long key = BiomeRegionCache.pack(regionX, regionZ);
+        synchronized (blendFields) {
+            BiomeBlendField field = blendFields.get(key);
+            if (field != null) {
+                return field;
+            }
+        }
+        // Built outside the lock; a duplicate build by another thread is harmless
+        BiomeBlendField field = new BiomeBlendField(biomeProvider, regionX, regionZ);
+        synchronized (blendFields) {
+            blendFields.put(key, field);
+        }
+        return field;
+    }
+
     // Helper method to check if a biome is an ocean
     private boolean isOceanBiome(Biome biome) {
         return biome == Biomes.OCEAN || biome == Biomes.DEEP_OCEAN || biome == Biomes.FROZEN_OCEAN;
     }
 
-    private double smoothCoastline(int worldX, int worldZ, double height, float blendFactor) {
+    private double smoothCoastline(ChunkBiomeTile tile, int localX, int localZ, double height) {
         double coastalEffect = 0;
         double maxCoastDistance = 8.0; // Max distance for smoothing effect
 
         // Check neighboring blocks to determine proximity to ocean
         for (int dx = -3; dx <= 3; dx++) {
             for (int dz = -3; dz <= 3; dz++) {
-                Biome neighborBiome = biomeProvider.getBiome(new BlockPos(worldX + dx * 4, 0, worldZ + dz * 4));
+                Biome neighborBiome = tile.getQuartBiome(localX, localZ, dx, dz);
                 if (isOceanBiome(neighborBiome)) {
                     double distance = Math.sqrt(dx * dx + dz * dz);
                     double influence = MathHelper.clamp(1.0 - (distance / maxCoastDistance), 0, 1);
@@ -213,9 +460,28 @@ public class NeoTerraChunkGenerator implements IChunkGenerator {
 
     @Override
     public void populate(int chunkX, int chunkZ) {
+        // Seeded per chunk like vanilla, so decoration does not depend on generation order
+        Random random = new Random(seed);
+        long k = random.nextLong() / 2L * 2L + 1L;
+        long l = random.nextLong() / 2L * 2L + 1L;
+        random.setSeed((long) chunkX * k + (long) chunkZ * l ^ seed);
+
+        // Decorators offset everything by +8 themselves, so the window is the 16x16 square
+        // centred on this chunk's +X/+Z corner; all four chunks under it are loaded.
+        // The biome is taken at that corner too, as vanilla does.
         BlockPos pos = new BlockPos(chunkX << 4, 0, chunkZ << 4);
-        Biome biome = world.getBiome(pos);
-        biome.decorate(world, random, pos);
+        Biome biome = world.getBiome(pos.add(16, 0, 16));
+
+        boolean tracked = CascadeDetector.enter(CascadeDetector.Stage.POPULATE, world, chunkX, chunkZ);
+        BlockFalling.fallInstantly = true;
+        try {
+            ForgeEventFactory.onChunkPopulate(true, this, world, random, chunkX, chunkZ, false);
+            biome.decorate(world, random, pos);
+            ForgeEventFactory.onChunkPopulate(false, this, world, random, chunkX, chunkZ, false);
+        } finally {
+            BlockFalling.fallInstantly = false;
+            if (tracked) CascadeDetector.exit();
+        }
     }
 
     @Override
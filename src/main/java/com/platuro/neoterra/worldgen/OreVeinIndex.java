@@ -0,0 +1,141 @@
+package com.platuro.neoterra.worldgen;
+
+import net.minecraft.world.biome.Biome;
+import net.minecraftforge.common.BiomeDictionary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ore veins compiled for lookup by biome type and latitude, built once per config load.
+ *
+ * Latitude is split at every vein's min and max, so each bucket holds exactly the
+ * veins whose range contains it: bucket {@code 2i + 1} is boundary {@code i} itself,
+ * even buckets are the open intervals below, between and above the boundaries.
+ * Candidates come back in config order, the same order a linear scan would produce.
+ */
+final class OreVeinIndex {
+
+    private static final NeoOreGenerator.OreVein[] NO_VEINS = new NeoOreGenerator.OreVein[0];
+
+    static final OreVeinIndex EMPTY = compile(new ArrayList<>());
+
+    private final double[] boundaries;
+    private final NeoOreGenerator.OreVein[][] anyType;
+    private final Map<BiomeDictionary.Type, NeoOreGenerator.OreVein[][]> byType;
+    private final Map<NeoOreGenerator.OreVein, Integer> order;
+
+    // Merged candidates per biome, one array per latitude bucket
+    private final Map<Biome, NeoOreGenerator.OreVein[][]> byBiome = new ConcurrentHashMap<>();
+
+    private OreVeinIndex(double[] boundaries, NeoOreGenerator.OreVein[][] anyType,
+                         Map<BiomeDictionary.Type, NeoOreGenerator.OreVein[][]> byType,
+                         Map<NeoOreGenerator.OreVein, Integer> order) {
+        this.boundaries = boundaries;
+        this.anyType = anyType;
+        this.byType = byType;
+        this.order = order;
+    }
+
+    static OreVeinIndex compile(Collection<NeoOreGenerator.OreVein> veins) {
+        TreeSet<Double> edges = new TreeSet<>();
+        for (NeoOreGenerator.OreVein vein : veins) {
+            edges.add(vein.minLatitude);
+            edges.add(vein.maxLatitude);
+        }
+        double[] boundaries = new double[edges.size()];
+        int n = 0;
+        for (double edge : edges) {
+            boundaries[n++] = edge;
+        }
+        int buckets = boundaries.length * 2 + 1;
+
+        Map<NeoOreGenerator.OreVein, Integer> order = new HashMap<>();
+        Map<BiomeDictionary.Type, List<List<NeoOreGenerator.OreVein>>> typed = new HashMap<>();
+        List<List<NeoOreGenerator.OreVein>> any = emptyBuckets(buckets);
+        for (NeoOreGenerator.OreVein vein : veins) {
+            order.put(vein, order.size());
+            List<List<NeoOreGenerator.OreVein>> target = vein.requiredBiome == null
+                    ? any
+                    : typed.computeIfAbsent(vein.requiredBiome, t -> emptyBuckets(buckets));
+            for (int b = 0; b < buckets; b++) {
+                if (vein.isValidLatitude(representative(boundaries, b))) {
+                    target.get(b).add(vein);
+                }
+            }
+        }
+
+        Map<BiomeDictionary.Type, NeoOreGenerator.OreVein[][]> byType = new HashMap<>();
+        for (Map.Entry<BiomeDictionary.Type, List<List<NeoOreGenerator.OreVein>>> entry : typed.entrySet()) {
+            byType.put(entry.getKey(), toArrays(entry.getValue()));
+        }
+        return new OreVeinIndex(boundaries, toArrays(any), byType, order);
+    }
+
+    /** Veins allowed in this biome at this latitude, in config order. Do not modify. */
+    NeoOreGenerator.OreVein[] candidates(Biome biome, double latitude) {
+        NeoOreGenerator.OreVein[][] perBucket = byBiome.computeIfAbsent(biome, this::compileBiome);
+        return perBucket[bucketOf(latitude)];
+    }
+
+    int size() {
+        return order.size();
+    }
+
+    private NeoOreGenerator.OreVein[][] compileBiome(Biome biome) {
+        Set<BiomeDictionary.Type> types = BiomeDictionary.getTypes(biome);
+        NeoOreGenerator.OreVein[][] merged = new NeoOreGenerator.OreVein[anyType.length][];
+        for (int b = 0; b < merged.length; b++) {
+            List<NeoOreGenerator.OreVein> veins = new ArrayList<>(Arrays.asList(anyType[b]));
+            for (BiomeDictionary.Type type : types) {
+                NeoOreGenerator.OreVein[][] typeVeins = byType.get(type);
+                if (typeVeins != null) {
+                    veins.addAll(Arrays.asList(typeVeins[b]));
+                }
+            }
+            veins.sort((a, c) -> Integer.compare(order.get(a), order.get(c)));
+            merged[b] = veins.isEmpty() ? NO_VEINS : veins.toArray(NO_VEINS);
+        }
+        return merged;
+    }
+
+    private int bucketOf(double latitude) {
+        int i = Arrays.binarySearch(boundaries, latitude);
+        // Exact hit: that boundary's bucket; otherwise the interval below the insertion point
+        return i >= 0 ? i * 2 + 1 : (-i - 1) * 2;
+    }
+
+    /** A latitude lying in bucket {@code b}, used to decide which veins belong there. */
+    private static double representative(double[] boundaries, int b) {
+        if (boundaries.length == 0) return 0.0;
+        if (b == 0) return boundaries[0] - 1.0;
+        if ((b & 1) == 1) return boundaries[b / 2];
+        int lower = b / 2 - 1;
+        return lower + 1 < boundaries.length
+                ? (boundaries[lower] + boundaries[lower + 1]) * 0.5
+                : boundaries[lower] + 1.0;
+    }
+
+    private static List<List<NeoOreGenerator.OreVein>> emptyBuckets(int buckets) {
+        List<List<NeoOreGenerator.OreVein>> lists = new ArrayList<>(buckets);
+        for (int b = 0; b < buckets; b++) {
+            lists.add(new ArrayList<>());
+        }
+        return lists;
+    }
+
+    private static NeoOreGenerator.OreVein[][] toArrays(List<List<NeoOreGenerator.OreVein>> lists) {
+        NeoOreGenerator.OreVein[][] arrays = new NeoOreGenerator.OreVein[lists.size()][];
+        for (int b = 0; b < arrays.length; b++) {
+            arrays[b] = lists.get(b).toArray(NO_VEINS);
+        }
+        return arrays;
+    }
+}
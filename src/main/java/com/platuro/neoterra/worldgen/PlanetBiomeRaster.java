@@ -0,0 +1,80 @@
+package com.platuro.neoterra.worldgen;
+
+import com.platuro.neoterra.helpers.BiomeIds;
+import net.minecraft.world.biome.Biome;
+
+import java.util.stream.IntStream;
+
+/**
+ * The whole planet's biome IDs at quart (4-block) resolution, one byte per sample.
+ * Sample (qx, qz) is exactly the biome at block (qx * 4, qz * 4), so quart lookups
+ * need no noise at all. It answers nothing at block resolution: features smaller than
+ * a quart can lie between agreeing samples, and reading them from here would change
+ * the world with the option.
+ *
+ * The ID encodes the land/ocean class and the climate zone too, so no separate
+ * rasters are kept for those. Immutable once built; safe to share between threads.
+ */
+final class PlanetBiomeRaster {
+
+    static final int QUART_SHIFT = 2;
+
+    // Rows per parallel task; keeps each worker's scratch buffers small
+    private static final int BAND_ROWS = 8;
+
+    private final int minQX;
+    private final int minQZ;
+    private final int width;
+    private final int depth;
+    private final byte[] ids;
+
+    private PlanetBiomeRaster(int minQX, int minQZ, int width, int depth) {
+        this.minQX = minQX;
+        this.minQZ = minQZ;
+        this.width = width;
+        this.depth = depth;
+        this.ids = new byte[width * depth];
+    }
+
+    /**
+     * Samples every quart with block coordinates in [-halfWidth, halfWidth] x
+     * [-halfHeight, halfHeight], in bands spread over the common fork-join pool.
+     */
+    static PlanetBiomeRaster build(EarthlikeBiomeProvider provider, int halfWidth, int halfHeight) {
+        int minQX = -(halfWidth >> QUART_SHIFT);
+        int minQZ = -(halfHeight >> QUART_SHIFT);
+        PlanetBiomeRaster raster = new PlanetBiomeRaster(minQX, minQZ,
+                (halfWidth >> QUART_SHIFT) * 2 + 1, (halfHeight >> QUART_SHIFT) * 2 + 1);
+
+        int bands = (raster.depth + BAND_ROWS - 1) / BAND_ROWS;
+        IntStream.range(0, bands).parallel().forEach(band -> raster.fillBand(provider, band));
+        return raster;
+    }
+
+    private void fillBand(EarthlikeBiomeProvider provider, int band) {
+        int row0 = band * BAND_ROWS;
+        int rows = Math.min(BAND_ROWS, depth - row0);
+        Biome[] biomes = new Biome[width * rows];
+        provider.pickBiomes(biomes, minQX << QUART_SHIFT, (minQZ + row0) << QUART_SHIFT, width, rows, 1 << QUART_SHIFT);
+        int offset = row0 * width;
+        for (int i = 0; i < biomes.length; i++) {
+            ids[offset + i] = BiomeIds.encode(biomes[i]);
+        }
+    }
+
+    /** True if every quart in the given quart rectangle has a sample. */
+    boolean containsQuarts(int qx, int qz, int quartWidth, int quartDepth) {
+        return qx >= minQX && qz >= minQZ
+                && qx + quartWidth <= minQX + width && qz + quartDepth <= minQZ + depth;
+    }
+
+    /** Sample at quart (qx, qz); only valid inside {@link #containsQuarts}. */
+    byte getQuartId(int qx, int qz) {
+        return ids[(qz - minQZ) * width + (qx - minQX)];
+    }
+
+    /** Size of the sample array in bytes. */
+    long getSizeBytes() {
+        return ids.length;
+    }
+}
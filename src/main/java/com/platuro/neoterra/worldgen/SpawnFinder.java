@@ -0,0 +1,121 @@
+package com.platuro.neoterra.worldgen;
+
+import com.platuro.neoterra.config.WorldGenSettings;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.biome.Biome;
+
+import javax.annotation.Nullable;
+
+/**
+ * Picks the world spawn from the biome noise alone, so creating a world neither
+ * loads chunks nor runs vanilla's search through {@code getBiomesToSpawnIn}, which
+ * includes the oceans.
+ *
+ * Walks square rings of a coarse land mask outwards from the origin and settles on
+ * the nearest warm-zone land of the first ring that has any, with land on all sides
+ * so spawn is not on a one-sample spit. When the NeoTerra chunk generator makes the
+ * world, the column must also reach sea level, since lower land is generated as river.
+ * Without any within the planet, the nearest land of any zone is taken, and without
+ * that the origin.
+ */
+public final class SpawnFinder {
+
+    // Spacing of the land mask, in blocks
+    private static final int MASK_STEP = 64;
+    // Neighbours that must be land as well
+    private static final int SHORE_MARGIN = 16;
+
+    private SpawnFinder() {}
+
+    /**
+     * Spawn column for a world with these biomes. The height comes from the NeoTerra
+     * chunk generator's terrain data when it generates the world, otherwise it is
+     * {@code defaultY}, as vanilla does before the player drops to the surface.
+     */
+    public static BlockPos find(EarthlikeBiomeProvider provider, @Nullable NeoTerraChunkGenerator generator, int defaultY) {
+        WorldGenSettings settings = provider.getSettings();
+        int maxRing = Math.min(settings.maxWorldWidth, settings.maxWorldHeight) / MASK_STEP;
+        Search search = new Search(provider, generator, maxRing * 2 + 1);
+
+        for (int ring = 0; ring <= maxRing && search.temperate == null; ring++) {
+            int far = ring * MASK_STEP;
+            if (ring == 0) {
+                search.scan(0, 0, 1, 1);
+            } else {
+                search.scan(-far, -far, ring * 2 + 1, 1);
+                search.scan(-far, far, ring * 2 + 1, 1);
+                search.scan(-far, -far + MASK_STEP, 1, ring * 2 - 1);
+                search.scan(far, -far + MASK_STEP, 1, ring * 2 - 1);
+            }
+            search.ringDone();
+        }
+
+        int[] found = search.temperate != null ? search.temperate : search.land != null ? search.land : new int[]{0, 0};
+        return column(found[0], found[1], generator, defaultY);
+    }
+
+    /** Best candidates so far: the nearest of the first ring that has any. */
+    private static final class Search {
+        final EarthlikeBiomeProvider provider;
+        @Nullable final NeoTerraChunkGenerator generator;
+        final Biome[] samples;
+        int[] temperate;
+        int[] land;
+        long temperateDist = Long.MAX_VALUE;
+        long landDist = Long.MAX_VALUE;
+        boolean landRingDone;
+
+        Search(EarthlikeBiomeProvider provider, @Nullable NeoTerraChunkGenerator generator, int maxSide) {
+            this.provider = provider;
+            this.generator = generator;
+            this.samples = new Biome[maxSide];
+        }
+
+        void scan(int x0, int z0, int width, int depth) {
+            provider.pickBiomes(samples, x0, z0, width, depth, MASK_STEP);
+            for (int i = 0; i < width * depth; i++) {
+                if (!EarthlikeBiomeProvider.isZoneBiome(samples[i])) continue;
+                int x = x0 + (i % width) * MASK_STEP;
+                int z = z0 + (i / width) * MASK_STEP;
+                long dist = (long) x * x + (long) z * z;
+                boolean temperateBiome = EarthlikeBiomeProvider.isTemperateBiome(samples[i]);
+                boolean wanted = (temperateBiome && dist < temperateDist) || (!landRingDone && dist < landDist);
+                if (!wanted || !isInland(provider, x, z) || !isDry(generator, x, z)) continue;
+
+                if (temperateBiome && dist < temperateDist) {
+                    temperate = new int[]{x, z};
+                    temperateDist = dist;
+                }
+                if (!landRingDone && dist < landDist) {
+                    land = new int[]{x, z};
+                    landDist = dist;
+                }
+            }
+        }
+
+        void ringDone() {
+            landRingDone |= land != null;
+        }
+    }
+
+    private static boolean isInland(EarthlikeBiomeProvider provider, int x, int z) {
+        return EarthlikeBiomeProvider.isZoneBiome(provider.pickBiome(x + SHORE_MARGIN, z))
+                && EarthlikeBiomeProvider.isZoneBiome(provider.pickBiome(x - SHORE_MARGIN, z))
+                && EarthlikeBiomeProvider.isZoneBiome(provider.pickBiome(x, z + SHORE_MARGIN))
+                && EarthlikeBiomeProvider.isZoneBiome(provider.pickBiome(x, z - SHORE_MARGIN));
+    }
+
+    private static boolean isDry(@Nullable NeoTerraChunkGenerator generator, int x, int z) {
+        return generator == null || generator.getSurfaceHeight(x, z) >= generator.getSeaLevel();
+    }
+
+    private static BlockPos column(int x, int z, @Nullable NeoTerraChunkGenerator generator, int defaultY) {
+        if (generator == null) {
+            return new BlockPos(x, defaultY, z);
+        }
+        ChunkTerrainData data = generator.generateTerrainData(x >> 4, z >> 4);
+        // The chunk is generated soon after for the spawn area, so hand the heights over
+        generator.offerTerrainData(data);
+        return new BlockPos(x, data.getHeight(x & 15, z & 15) + 1, z);
+    }
+}
@@ -1,23 +1,28 @@
 package com.platuro.neoterra.worldgen;
 
 import com.platuro.neoterra.config.BiomeConfig;
+import com.platuro.neoterra.config.WorldGenSettings;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.network.play.server.SPacketEntityTeleport;
 import net.minecraft.util.EnumParticleTypes;
 import net.minecraft.util.SoundCategory;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.init.SoundEvents;
+import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
+import net.minecraft.world.biome.BiomeProvider;
 
 public class WorldBoundaryHandler {
 
-    private static final int MAX_PLANET_WIDTH = (int) (BiomeConfig.MAX_WORLD_WIDTH - 200);
-    private static final int POLAR_Z_LIMIT = (int) (BiomeConfig.MAX_WORLD_HEIGHT - (BiomeConfig.MAX_WORLD_HEIGHT * 0.2));
-
     public static void handlePlayerTeleportation(EntityPlayer player) {
         if (player.world.isRemote) return; // Server-side only
+        if (!BiomeConfig.isNeoTerraDimension(player.world.provider.getDimension())) return;
 
+        WorldGenSettings settings = settingsOf(player.world);
+        int maxPlanetWidth = settings.wrapWidth;
+        int polarZLimit = settings.wrapZLimit;
         Entity entity = player.isRiding() ? player.getRidingEntity() : player;
 
         double x = entity.posX;
@@ -27,29 +32,72 @@ public class WorldBoundaryHandler {
         boolean teleported = false;
 
         // Handle X-axis teleportation
-        if (x >= MAX_PLANET_WIDTH) {
-            x = -MAX_PLANET_WIDTH + 5;
+        if (x >= maxPlanetWidth) {
+            x = mirroredX(settings, 1);
             teleported = true;
-        } else if (x <= -MAX_PLANET_WIDTH) {
-            x = MAX_PLANET_WIDTH - 5;
+        } else if (x <= -maxPlanetWidth) {
+            x = mirroredX(settings, -1);
             teleported = true;
         }
 
         // Handle Z-axis teleportation (polar teleportation)
-        if (z >= POLAR_Z_LIMIT) {
-            z = -POLAR_Z_LIMIT + 5;
+        if (z >= polarZLimit) {
+            z = mirroredZ(settings, 1);
             teleported = true;
-        } else if (z <= -POLAR_Z_LIMIT) {
-            z = POLAR_Z_LIMIT - 5;
+        } else if (z <= -polarZLimit) {
+            z = mirroredZ(settings, -1);
             teleported = true;
         }
 
         if (teleported) {
+            y = landingY((WorldServer) entity.world, entity, x, y, z);
             teleportEntitySafely(entity, x, y, z);
             teleportEffects(player);
         }
     }
 
+    /**
+     * Settings of the planet in a world: those of its NeoTerra biome provider, or the
+     * current ones before one is installed.
+     */
+    public static WorldGenSettings settingsOf(World world) {
+        BiomeProvider provider = world.getBiomeProvider();
+        return provider instanceof EarthlikeBiomeProvider
+                ? ((EarthlikeBiomeProvider) provider).getSettings()
+                : BiomeConfig.getWorldGenSettings();
+    }
+
+    /** X an entity crossing the east (direction 1) or west (-1) edge is moved to. */
+    public static double mirroredX(WorldGenSettings settings, double direction) {
+        return direction > 0 ? -settings.wrapWidth + 5 : settings.wrapWidth - 5;
+    }
+
+    /** Z an entity crossing the south (direction 1) or north (-1) polar limit is moved to. */
+    public static double mirroredZ(WorldGenSettings settings, double direction) {
+        return direction > 0 ? -settings.wrapZLimit + 5 : settings.wrapZLimit - 5;
+    }
+
+    /**
+     * Y to arrive at so the entity is not inside terrain: just above the ground (or the
+     * water over it) for an entity that was on the ground, never lower than before for
+     * one that was flying or swimming. The height comes from the loaded chunk if there
+     * is one, otherwise from the NeoTerra generator without generating the chunk;
+     * vanilla terrain that is not loaded keeps the old Y.
+     */
+    private static double landingY(WorldServer world, Entity entity, double x, double y, double z) {
+        BlockPos column = new BlockPos(x, 0, z);
+        int surface;
+        if (world.isBlockLoaded(column)) {
+            surface = world.getHeight(column).getY();
+        } else if (world.getChunkProvider().chunkGenerator instanceof NeoTerraChunkGenerator) {
+            NeoTerraChunkGenerator generator = (NeoTerraChunkGenerator) world.getChunkProvider().chunkGenerator;
+            surface = Math.max(generator.getSurfaceHeight(column.getX(), column.getZ()), world.getSeaLevel()) + 1;
+        } else {
+            return y;
+        }
+        return entity.onGround ? surface : Math.max(y, surface);
+    }
+
     private static void teleportEntitySafely(Entity entity, double x, double y, double z) {
         if (entity instanceof EntityPlayerMP) {
             EntityPlayerMP playerMP = (EntityPlayerMP) entity;
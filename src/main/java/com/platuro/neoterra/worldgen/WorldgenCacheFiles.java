@@ -0,0 +1,80 @@
+package com.platuro.neoterra.worldgen;
+
+import com.platuro.neoterra.config.WorldGenSettings;
+import net.minecraft.world.World;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The persistent worldgen caches of one world, kept under
+ * {@code <world>/[DIMx/]neoterra/cache/<seed>-<settings hash>/}:
+ *  - {@code blocks}: biome IDs of each 16x16 block region
+ *  - {@code quarts}: biome IDs of each 16x16 quart region
+ *  - {@code heights}: column heights of each chunk
+ *
+ * Everything stored is a pure function of the seed and the worldgen settings, so a
+ * settings change simply starts a new directory. Bump {@link #GENERATOR_VERSION}
+ * whenever a code change alters what gets generated.
+ */
+public final class WorldgenCacheFiles {
+
+    static final int GENERATOR_VERSION = 1;
+
+    private static final Map<String, WorldgenCacheFiles> OPEN = new ConcurrentHashMap<>();
+
+    final MappedRegionStore blockBiomes;
+    final MappedRegionStore quartBiomes;
+    final MappedRegionStore heights;
+
+    private WorldgenCacheFiles(File directory, long seed, int settingsHash) {
+        this.blockBiomes = new MappedRegionStore(new File(directory, "blocks"), seed, settingsHash);
+        this.quartBiomes = new MappedRegionStore(new File(directory, "quarts"), seed, settingsHash);
+        this.heights     = new MappedRegionStore(new File(directory, "heights"), seed, settingsHash);
+    }
+
+    /**
+     * The cache files of a server world generated with the given settings, shared by
+     * everything generating it; null if the world has no save directory.
+     */
+    @Nullable
+    public static WorldgenCacheFiles forWorld(World world, WorldGenSettings settings) {
+        File directory = directoryOf(world);
+        if (directory == null) return null;
+        long seed = world.getSeed();
+        int settingsHash = 31 * settings.hash + GENERATOR_VERSION;
+        File keyed = new File(directory, Long.toHexString(seed) + "-" + Integer.toHexString(settingsHash));
+        return OPEN.computeIfAbsent(keyed.getAbsolutePath(), path -> new WorldgenCacheFiles(keyed, seed, settingsHash));
+    }
+
+    /** Flushes and releases the cache files of a world that is unloading. */
+    public static void close(World world) {
+        File directory = directoryOf(world);
+        if (directory == null) return;
+        String prefix = directory.getAbsolutePath() + File.separator;
+        OPEN.entrySet().removeIf(entry -> {
+            if (!entry.getKey().startsWith(prefix)) return false;
+            entry.getValue().flush();
+            return true;
+        });
+    }
+
+    @Nullable
+    private static File directoryOf(World world) {
+        File folder = world.getSaveHandler().getWorldDirectory();
+        if (folder == null) return null;
+        String dimensionFolder = world.provider.getSaveFolder();
+        if (dimensionFolder != null) {
+            folder = new File(folder, dimensionFolder);
+        }
+        return new File(folder, "neoterra/cache");
+    }
+
+    private void flush() {
+        blockBiomes.close();
+        quartBiomes.close();
+        heights.close();
+    }
+}
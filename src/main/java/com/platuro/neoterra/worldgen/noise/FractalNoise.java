@@ -0,0 +1,163 @@
+package com.platuro.neoterra.worldgen.noise;
+
+import java.util.Random;
+
+/**
+ * A fixed octave configuration over simplex noise, with per-octave frequency and
+ * amplitude tables computed once.
+ *
+ * Single points go through {@link #getValue}; rectangles go through {@link #fillGrid},
+ * which walks one octave at a time row by row and normalises in a final pass.
+ * Both produce bit-identical values for the same coordinates.
+ */
+public class FractalNoise {
+
+    private final SimplexNoise[] generators;
+    private final double[] frequencies;
+    private final double[] amplitudes;
+    private final double normaliser;
+    private final boolean normalise;
+    private final double[] tailBounds;
+
+    /**
+     * Normalised fractal noise (~[-1..+1]) with every octave drawn from the same generator.
+     */
+    public FractalNoise(SimplexNoise generator, int octaves, double persistence, double scale, double lacunarity) {
+        this(repeat(generator, octaves), scale, persistence, lacunarity, true);
+    }
+
+    public FractalNoise(SimplexNoise[] generators, double scale, double persistence, double lacunarity, boolean normalise) {
+        int octaves = generators.length;
+        this.generators  = generators.clone();
+        this.frequencies = new double[octaves];
+        this.amplitudes  = new double[octaves];
+        this.normalise   = normalise;
+
+        double max = 0.0;
+        double amp = 1.0;
+        double freq = scale;
+        for (int i = 0; i < octaves; i++) {
+            frequencies[i] = freq;
+            amplitudes[i] = amp;
+            max  += amp;
+            amp  *= persistence;
+            freq *= lacunarity;
+        }
+        this.normaliser = max;
+
+        this.tailBounds = new double[octaves + 1];
+        for (int i = octaves - 1; i >= 0; i--) {
+            tailBounds[i] = tailBounds[i + 1] + amplitudes[i] * SimplexNoise.MAX_ABS;
+        }
+        if (normalise) {
+            for (int i = 0; i < octaves; i++) {
+                tailBounds[i] /= max;
+            }
+        }
+    }
+
+    /**
+     * Same output as vanilla NoiseGeneratorPerlin over these levels, with the input
+     * coordinates pre-multiplied by {@code scale}: each level runs at half the
+     * frequency and twice the amplitude of the previous one, without normalisation.
+     */
+    public static FractalNoise perlin(SimplexNoise[] levels, double scale) {
+        return new FractalNoise(levels, scale, 2.0, 0.5, false);
+    }
+
+    /**
+     * {@code count} generators drawn one after another from {@code random}, consuming it
+     * exactly like vanilla's NoiseGeneratorPerlin(random, count).
+     */
+    public static SimplexNoise[] levels(Random random, int count) {
+        SimplexNoise[] levels = new SimplexNoise[count];
+        for (int i = 0; i < count; i++) {
+            levels[i] = new SimplexNoise(random);
+        }
+        return levels;
+    }
+
+    public int getOctaves() {
+        return generators.length;
+    }
+
+    public double getValue(double x, double z) {
+        double sum = 0.0;
+        for (int i = 0; i < generators.length; i++) {
+            sum += getOctave(i, x, z);
+        }
+        return normalise(sum);
+    }
+
+    /**
+     * One octave's unnormalised contribution. Summing octaves 0..n-1 in order and
+     * passing the sum to {@link #normalise} gives exactly {@link #getValue}.
+     */
+    public double getOctave(int octave, double x, double z) {
+        double freq = frequencies[octave];
+        return generators[octave].getValue(x * freq, z * freq) * amplitudes[octave];
+    }
+
+    public double normalise(double sum) {
+        return normalise ? sum / normaliser : sum;
+    }
+
+    /**
+     * Largest amount, in {@link #getValue} units, that octaves {@code octave} and up can
+     * still move the value by. Zero once every octave is in.
+     */
+    public double getTailBound(int octave) {
+        return tailBounds[octave];
+    }
+
+    /**
+     * Fills {@code out[z * width + x]} with the noise at ({@code x0 + x * step}, {@code z0 + z * step}).
+     */
+    public void fillGrid(double[] out, int x0, int z0, int width, int depth, int step) {
+        fillGrid(out, x0, z0, width, depth, step, null);
+    }
+
+    /**
+     * Like {@link #fillGrid(double[], int, int, int, int, int)}, but only evaluates cells
+     * whose {@code mask} entry is set. Other cells are left untouched.
+     */
+    public void fillGrid(double[] out, int x0, int z0, int width, int depth, int step, boolean[] mask) {
+        int cells = width * depth;
+        for (int i = 0; i < cells; i++) {
+            if (mask == null || mask[i]) out[i] = 0.0;
+        }
+
+        for (int octave = 0; octave < generators.length; octave++) {
+            addOctave(out, octave, x0, z0, width, depth, step, mask);
+        }
+
+        if (normalise) {
+            for (int i = 0; i < cells; i++) {
+                if (mask == null || mask[i]) out[i] /= normaliser;
+            }
+        }
+    }
+
+    /**
+     * Grid form of {@link #getOctave}: adds the octave's contribution to the cells of
+     * {@code out} whose {@code mask} entry is set (all cells if the mask is null).
+     */
+    public void addOctave(double[] out, int octave, int x0, int z0, int width, int depth, int step, boolean[] mask) {
+        SimplexNoise generator = generators[octave];
+        double freq = frequencies[octave];
+        double amp  = amplitudes[octave];
+
+        for (int row = 0; row < depth; row++) {
+            double zf = (double) (z0 + row * step) * freq;
+            generator.addRow(out, row * width, width, x0, step, freq, zf, amp, mask);
+        }
+    }
+
+    private static SimplexNoise[] repeat(SimplexNoise generator, int octaves) {
+        SimplexNoise[] generators = new SimplexNoise[octaves];
+        for (int i = 0; i < octaves; i++) {
+            generators[i] = generator;
+        }
+        return generators;
+    }
+}
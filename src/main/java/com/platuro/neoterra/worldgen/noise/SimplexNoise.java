@@ -0,0 +1,131 @@
+package com.platuro.neoterra.worldgen.noise;
+
+import java.util.Random;
+
+/**
+ * 2D simplex noise with the same seeding and arithmetic as vanilla's
+ * NoiseGeneratorSimplex, so every value is bit-for-bit identical and existing
+ * worlds keep their terrain.
+ *
+ * Differences are purely in layout: the permutation table is a byte array with a
+ * precomputed mod-12 copy, gradients are flat per-axis tables, all state is final,
+ * and there is a row entry point for grid evaluation. Instances are immutable and
+ * safe to share between threads.
+ */
+public final class SimplexNoise {
+
+    /**
+     * Upper bound on |{@link #getValue}|. Picking each corner's gradient to maximise its
+     * own term bounds the value by 70 * sum(t^4 * (|dx| + |dy|)) over the three corners;
+     * the maximum of that over a simplex cell is 0.998 (fine grid plus a Lipschitz margin).
+     */
+    public static final double MAX_ABS = 1.01;
+
+    private static final double SQRT_3 = Math.sqrt(3.0D);
+    private static final double F2 = 0.5D * (SQRT_3 - 1.0D);
+    private static final double G2 = (3.0D - SQRT_3) / 6.0D;
+
+    // x and y components of vanilla's grad3 table; z is never used in 2D
+    private static final double[] GRAD_X = { 1, -1,  1, -1, 1, -1,  1, -1, 0,  0,  0,  0 };
+    private static final double[] GRAD_Y = { 1,  1, -1, -1, 0,  0,  0,  0, 1, -1,  1, -1 };
+
+    private final byte[] perm      = new byte[512];
+    private final byte[] permMod12 = new byte[512];
+
+    public SimplexNoise(Random seed) {
+        // Vanilla draws three offsets first; 2D sampling ignores them but the seed stream must match
+        seed.nextDouble();
+        seed.nextDouble();
+        seed.nextDouble();
+
+        int[] p = new int[256];
+        for (int i = 0; i < 256; i++) {
+            p[i] = i;
+        }
+        for (int i = 0; i < 256; i++) {
+            int j = seed.nextInt(256 - i) + i;
+            int k = p[i];
+            p[i] = p[j];
+            p[j] = k;
+        }
+        for (int i = 0; i < 512; i++) {
+            perm[i] = (byte) p[i & 255];
+            permMod12[i] = (byte) (p[i & 255] % 12);
+        }
+    }
+
+    public double getValue(double x, double y) {
+        double s = (x + y) * F2;
+        int i = fastFloor(x + s);
+        int j = fastFloor(y + s);
+        double t = (double) (i + j) * G2;
+        double x0 = x - ((double) i - t);
+        double y0 = y - ((double) j - t);
+
+        int i1;
+        int j1;
+        if (x0 > y0) {
+            i1 = 1;
+            j1 = 0;
+        } else {
+            i1 = 0;
+            j1 = 1;
+        }
+
+        double x1 = x0 - (double) i1 + G2;
+        double y1 = y0 - (double) j1 + G2;
+        double x2 = x0 - 1.0D + 2.0D * G2;
+        double y2 = y0 - 1.0D + 2.0D * G2;
+
+        int ii = i & 255;
+        int jj = j & 255;
+        int gi0 = permMod12[ii + (perm[jj] & 0xFF)];
+        int gi1 = permMod12[ii + i1 + (perm[jj + j1] & 0xFF)];
+        int gi2 = permMod12[ii + 1 + (perm[jj + 1] & 0xFF)];
+
+        double n0;
+        double t0 = 0.5D - x0 * x0 - y0 * y0;
+        if (t0 < 0.0D) {
+            n0 = 0.0D;
+        } else {
+            t0 = t0 * t0;
+            n0 = t0 * t0 * (GRAD_X[gi0] * x0 + GRAD_Y[gi0] * y0);
+        }
+
+        double n1;
+        double t1 = 0.5D - x1 * x1 - y1 * y1;
+        if (t1 < 0.0D) {
+            n1 = 0.0D;
+        } else {
+            t1 = t1 * t1;
+            n1 = t1 * t1 * (GRAD_X[gi1] * x1 + GRAD_Y[gi1] * y1);
+        }
+
+        double n2;
+        double t2 = 0.5D - x2 * x2 - y2 * y2;
+        if (t2 < 0.0D) {
+            n2 = 0.0D;
+        } else {
+            t2 = t2 * t2;
+            n2 = t2 * t2 * (GRAD_X[gi2] * x2 + GRAD_Y[gi2] * y2);
+        }
+
+        return 70.0D * (n0 + n1 + n2);
+    }
+
+    /**
+     * Adds {@code amp * getValue((x0 + i * step) * freq, zf)} to {@code out[offset + i]} for
+     * {@code i} in [0, count), skipping cells whose {@code mask} entry is clear (if a mask is given).
+     */
+    public void addRow(double[] out, int offset, int count, int x0, int step, double freq, double zf, double amp, boolean[] mask) {
+        for (int i = 0; i < count; i++) {
+            if (mask != null && !mask[offset + i]) continue;
+            out[offset + i] += getValue((double) (x0 + i * step) * freq, zf) * amp;
+        }
+    }
+
+    // Vanilla's floor: exact negative integers round one further down, kept for compatibility
+    private static int fastFloor(double value) {
+        return value > 0.0D ? (int) value : (int) value - 1;
+    }
+}
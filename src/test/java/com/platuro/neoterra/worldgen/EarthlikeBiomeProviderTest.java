@@ -0,0 +1,209 @@
+package com.platuro.neoterra.worldgen;
+
+import com.platuro.neoterra.config.BiomeConfig;
+import com.platuro.neoterra.config.WorldGenSettings;
+import net.minecraft.init.Biomes;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.biome.Biome;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Staged ocean classification ({@link EarthlikeBiomeProvider#pickBiome} and
+ * {@link EarthlikeBiomeProvider#pickBiomes}) stops summing octaves once the rest
+ * cannot move a sample across a water threshold. It must pick exactly what summing
+ * every octave picks, above all where that is closest to failing: next to the
+ * thresholds and inside the edge fades. The planet raster must not change any answer,
+ * and findBiomePosition must find what vanilla's quart walk finds.
+ */
+public class EarthlikeBiomeProviderTest {
+
+    private static final double[] THRESHOLDS = {
+            EarthlikeBiomeProvider.DEEP_OCEAN_LEVEL, EarthlikeBiomeProvider.OCEAN_LEVEL, EarthlikeBiomeProvider.BEACH_LEVEL
+    };
+    // Ocean/land values this close to a threshold count as near it
+    private static final double NEAR = 0.003;
+    private static final int NEAR_THRESHOLD_SAMPLES = 2000;
+    private static final int FADE_BAND_SAMPLES = 20000;
+    // Every this many samples, the grid around it also goes through the batch path
+    private static final int BATCH_EVERY = 20;
+    private static final int RASTER_QUERIES = 500;
+    private static final int SEARCHES = 300;
+    // Stronghold search range; villages and monuments search far less
+    private static final int SEARCH_RANGE = 112;
+    private static final List<List<Biome>> SEARCH_BIOMES = Arrays.asList(
+            Arrays.asList(Biomes.PLAINS, Biomes.FOREST),
+            Arrays.asList(Biomes.OCEAN, Biomes.DEEP_OCEAN),
+            Arrays.asList(Biomes.DESERT, Biomes.SAVANNA, Biomes.JUNGLE, Biomes.MESA),
+            Arrays.asList(Biomes.ICE_PLAINS, Biomes.MUSHROOM_ISLAND)
+    );
+    // Chunk holding a feature narrower than 4 blocks for SEEDS[1]: a block lookup
+    // answered from the raster would miss it
+    private static final int[] SUB_QUART_CHUNK = { -1440, 5520 };
+
+    @BeforeClass
+    public static void setUp() {
+        WorldgenTestSupport.init();
+    }
+
+    @Test
+    public void stagedMatchesAllOctavesNearThresholds() {
+        WorldGenSettings settings = BiomeConfig.getWorldGenSettings();
+        for (long seed : WorldgenTestSupport.SEEDS) {
+            EarthlikeBiomeProvider provider = new EarthlikeBiomeProvider(seed, settings);
+            Random random = new Random(seed);
+            int found = 0;
+            for (int tries = 0; found < NEAR_THRESHOLD_SAMPLES && tries < 2_000_000; tries++) {
+                int x = random.nextInt(settings.maxWorldWidth * 2) - settings.maxWorldWidth;
+                int z = random.nextInt(settings.polarZLimit * 2) - settings.polarZLimit;
+                if (!nearThreshold(provider.oceanLandValue(x, z))) continue;
+                assertStagedMatches(provider, seed, x, z, found++);
+            }
+            assertEquals("seed " + seed + " samples near a threshold", NEAR_THRESHOLD_SAMPLES, found);
+            assertTrue("seed " + seed + ": no octave was skipped", provider.getSkippedOctaves() > 0);
+        }
+    }
+
+    @Test
+    public void stagedMatchesAllOctavesInFadeBands() {
+        WorldGenSettings settings = BiomeConfig.getWorldGenSettings();
+        int poleSwing = (int) Math.ceil(BiomeConfig.POLAR_WAVES * 1.01);
+        for (long seed : WorldgenTestSupport.SEEDS) {
+            EarthlikeBiomeProvider provider = new EarthlikeBiomeProvider(seed, settings);
+            Random random = new Random(seed);
+            for (int i = 0; i < FADE_BAND_SAMPLES; i++) {
+                int x;
+                int z;
+                if ((i & 1) == 0) {
+                    // X fade band, from its inner end to just past the edge
+                    x = settings.maxWorldWidth - EarthlikeBiomeProvider.X_FADE_BAND + random.nextInt(EarthlikeBiomeProvider.X_FADE_BAND + 32);
+                    z = random.nextInt(settings.maxWorldHeight * 2) - settings.maxWorldHeight;
+                } else {
+                    // Polar fade band, from its inner end to just past the wavy pole
+                    int from = settings.polarZLimit - settings.polarFadeBand - 32;
+                    z = from + random.nextInt(settings.polarZLimit + poleSwing + 32 - from);
+                    x = random.nextInt(settings.maxWorldWidth * 2) - settings.maxWorldWidth;
+                }
+                if (random.nextBoolean()) x = -x;
+                if (random.nextBoolean()) z = -z;
+                assertStagedMatches(provider, seed, x, z, i);
+            }
+        }
+    }
+
+    @Test
+    public void planetRasterDoesNotChangeBiomes() {
+        WorldGenSettings settings = BiomeConfig.getWorldGenSettings();
+        long seed = WorldgenTestSupport.SEEDS[1];
+        EarthlikeBiomeProvider plain = new EarthlikeBiomeProvider(seed, settings);
+        EarthlikeBiomeProvider rastered = new EarthlikeBiomeProvider(seed, settings);
+        rastered.buildPlanetRaster();
+
+        assertArrayEquals("sub-quart chunk",
+                plain.getBiomes(null, SUB_QUART_CHUNK[0], SUB_QUART_CHUNK[1], 16, 16, false),
+                rastered.getBiomes(null, SUB_QUART_CHUNK[0], SUB_QUART_CHUNK[1], 16, 16, false));
+
+        Random random = new Random(seed);
+        for (int i = 0; i < RASTER_QUERIES; i++) {
+            int x = random.nextInt(settings.maxWorldWidth * 2) - settings.maxWorldWidth;
+            int z = random.nextInt(settings.maxWorldHeight * 2) - settings.maxWorldHeight;
+            String at = " at (" + x + ", " + z + ")";
+            assertArrayEquals("chunk" + at, plain.getBiomes(null, x & ~15, z & ~15, 16, 16, true),
+                    rastered.getBiomes(null, x & ~15, z & ~15, 16, 16, true));
+            assertArrayEquals("blocks" + at, plain.getBiomes(null, x, z, 21, 13, false),
+                    rastered.getBiomes(null, x, z, 21, 13, false));
+            assertArrayEquals("quarts" + at, plain.getBiomesForGeneration(null, x >> 2, z >> 2, 10, 10),
+                    rastered.getBiomesForGeneration(null, x >> 2, z >> 2, 10, 10));
+        }
+        assertFindsLikeVanilla(rastered, seed);
+    }
+
+    /** Searches around random points, each against vanilla's walk over getBiomesForGeneration with the same Random. */
+    private static void assertFindsLikeVanilla(EarthlikeBiomeProvider provider, long seed) {
+        WorldGenSettings settings = provider.getSettings();
+        Random random = new Random(seed);
+        int found = 0;
+        for (int i = 0; i < SEARCHES; i++) {
+            int x = random.nextInt(settings.maxWorldWidth * 2 + 512) - settings.maxWorldWidth - 256;
+            int z = random.nextInt(settings.polarZLimit * 2 + 512) - settings.polarZLimit - 256;
+            List<Biome> allowed = SEARCH_BIOMES.get(i % SEARCH_BIOMES.size());
+            long searchSeed = random.nextLong();
+            String at = "seed " + seed + " search " + i + " at (" + x + ", " + z + ")";
+
+            BlockPos expected = vanillaFindBiomePosition(provider, x, z, SEARCH_RANGE, allowed, new Random(searchSeed));
+            assertEquals(at, expected, provider.findBiomePosition(x, z, SEARCH_RANGE, allowed, new Random(searchSeed)));
+            if (expected != null) found++;
+        }
+        assertTrue("seed " + seed + ": only " + found + " searches found a biome", found > SEARCHES / 4);
+    }
+
+    /** BiomeProvider.findBiomePosition as vanilla has it. */
+    private static BlockPos vanillaFindBiomePosition(EarthlikeBiomeProvider provider, int x, int z, int range,
+                                                     List<Biome> allowed, Random random) {
+        int minQX = x - range >> 2;
+        int minQZ = z - range >> 2;
+        int width = (x + range >> 2) - minQX + 1;
+        int depth = (z + range >> 2) - minQZ + 1;
+        Biome[] biomes = provider.getBiomesForGeneration(null, minQX, minQZ, width, depth);
+        BlockPos pos = null;
+        int matches = 0;
+        for (int i = 0; i < width * depth; i++) {
+            assertNotNull(biomes[i]);
+            if (allowed.contains(biomes[i]) && (pos == null || random.nextInt(matches + 1) == 0)) {
+                pos = new BlockPos(minQX + i % width << 2, 0, minQZ + i / width << 2);
+                matches++;
+            }
+        }
+        return pos;
+    }
+
+    @Test
+    public void findBiomePositionMatchesVanilla() {
+        WorldGenSettings settings = BiomeConfig.getWorldGenSettings();
+        for (long seed : WorldgenTestSupport.SEEDS) {
+            assertFindsLikeVanilla(new EarthlikeBiomeProvider(seed, settings), seed);
+        }
+    }
+
+    private static boolean nearThreshold(double value) {
+        for (double threshold : THRESHOLDS) {
+            if (Math.abs(value - threshold) < NEAR) return true;
+        }
+        return false;
+    }
+
+    /** Point path at (x, z); for every {@link #BATCH_EVERY}th sample, also block and quart grids around it. */
+    private static void assertStagedMatches(EarthlikeBiomeProvider provider, long seed, int x, int z, int sample) {
+        assertSame("seed " + seed + " pickBiome at (" + x + ", " + z + ")",
+                provider.pickBiomeAllOctaves(x, z), provider.pickBiome(x, z));
+        if (sample % BATCH_EVERY != 0) return;
+
+        for (int step : new int[]{1, 4}) {
+            int size = 8;
+            int x0 = x - size / 2 * step;
+            int z0 = z - size / 2 * step;
+            Biome[] batch = new Biome[size * size];
+            provider.pickBiomes(batch, x0, z0, size, size, step);
+            List<String> mismatches = new ArrayList<>();
+            for (int i = 0; i < batch.length; i++) {
+                int cx = x0 + (i % size) * step;
+                int cz = z0 + (i / size) * step;
+                if (batch[i] != provider.pickBiomeAllOctaves(cx, cz)) {
+                    mismatches.add("(" + cx + ", " + cz + ")");
+                }
+            }
+            assertTrue("seed " + seed + " pickBiomes step " + step + " differs at " + mismatches, mismatches.isEmpty());
+        }
+    }
+}
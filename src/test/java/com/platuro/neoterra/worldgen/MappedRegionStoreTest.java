@@ -0,0 +1,100 @@
+package com.platuro.neoterra.worldgen;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link MappedRegionStore} must only return what was written for the same seed and
+ * settings. A crash can leave an entry's checksum on disk without its data, or the
+ * other way round; both must read as missing.
+ */
+public class MappedRegionStoreTest {
+
+    private static final long SEED = 12345L;
+    private static final int SETTINGS_HASH = 0x1234ABCD;
+
+    @Test
+    public void readsBackWhatWasWritten() throws IOException {
+        File directory = Files.createTempDirectory("neoterra-store").toFile();
+        MappedRegionStore store = new MappedRegionStore(directory, SEED, SETTINGS_HASH);
+        byte[] zeros = new byte[MappedRegionStore.ENTRY_BYTES];
+        byte[] data = entry(1);
+        store.write(3, -2, zeros);
+        store.write(40, 7, data);
+        store.close();
+
+        MappedRegionStore reopened = new MappedRegionStore(directory, SEED, SETTINGS_HASH);
+        byte[] out = new byte[MappedRegionStore.ENTRY_BYTES];
+        assertTrue(reopened.read(3, -2, out));
+        assertArrayEquals(zeros, out);
+        assertTrue(reopened.read(40, 7, out));
+        assertArrayEquals(data, out);
+        assertFalse(reopened.read(4, -2, out));
+    }
+
+    @Test
+    public void tornEntriesAreMissing() throws IOException {
+        File directory = Files.createTempDirectory("neoterra-store").toFile();
+        MappedRegionStore store = new MappedRegionStore(directory, SEED, SETTINGS_HASH);
+        store.write(0, 0, entry(2));
+        store.write(1, 0, entry(3));
+        store.write(2, 0, entry(4));
+        store.close();
+
+        try (RandomAccessFile file = new RandomAccessFile(new File(directory, "r.0.0.ntc"), "rw")) {
+            // Checksum on disk, data never written back
+            file.seek(MappedRegionStore.DATA_OFFSET);
+            file.write(new byte[MappedRegionStore.ENTRY_BYTES]);
+            // Data on disk, checksum never written back
+            file.seek(MappedRegionStore.HEADER_BYTES + 4);
+            file.writeInt(0);
+            // Half of the data written back
+            file.seek(MappedRegionStore.DATA_OFFSET + 2 * MappedRegionStore.ENTRY_BYTES + MappedRegionStore.ENTRY_BYTES / 2);
+            file.write(new byte[MappedRegionStore.ENTRY_BYTES / 2]);
+        }
+
+        MappedRegionStore reopened = new MappedRegionStore(directory, SEED, SETTINGS_HASH);
+        byte[] out = new byte[MappedRegionStore.ENTRY_BYTES];
+        assertFalse(reopened.read(0, 0, out));
+        assertFalse(reopened.read(1, 0, out));
+        assertFalse(reopened.read(2, 0, out));
+
+        // Missing entries are generated and stored again
+        reopened.write(0, 0, entry(2));
+        assertTrue(reopened.read(0, 0, out));
+        assertArrayEquals(entry(2), out);
+    }
+
+    @Test
+    public void entriesOfAnEarlierHeaderMiss() throws IOException {
+        File directory = Files.createTempDirectory("neoterra-store").toFile();
+        MappedRegionStore store = new MappedRegionStore(directory, SEED, SETTINGS_HASH);
+        store.write(5, 5, entry(5));
+        store.close();
+
+        // Reused for another seed, but only the new header was written back
+        try (RandomAccessFile file = new RandomAccessFile(new File(directory, "r.0.0.ntc"), "rw")) {
+            file.seek(8);
+            file.writeLong(SEED + 1);
+        }
+
+        byte[] out = new byte[MappedRegionStore.ENTRY_BYTES];
+        MappedRegionStore otherSeed = new MappedRegionStore(directory, SEED + 1, SETTINGS_HASH);
+        assertFalse(otherSeed.read(5, 5, out));
+    }
+
+    private static byte[] entry(long seed) {
+        byte[] data = new byte[MappedRegionStore.ENTRY_BYTES];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+}
@@ -0,0 +1,49 @@
+package com.platuro.neoterra.worldgen;
+
+import net.minecraft.init.Biomes;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Land spawn must put the player on dry temperate land: a zone biome that the
+ * generator neither floods nor turns into river.
+ */
+public class SpawnFinderTest {
+
+    private static final int WORLDS = 40;
+
+    @BeforeClass
+    public static void setUp() {
+        WorldgenTestSupport.init();
+    }
+
+    @Test
+    public void spawnIsOnDryLand() {
+        Random random = new Random(WorldgenTestSupport.SEEDS[0]);
+        for (int i = 0; i < WORLDS; i++) {
+            long seed = i < WorldgenTestSupport.SEEDS.length ? WorldgenTestSupport.SEEDS[i] : random.nextLong();
+            World world = WorldgenTestSupport.world(seed);
+            NeoTerraChunkGenerator generator = new NeoTerraChunkGenerator(world);
+            EarthlikeBiomeProvider provider = EarthlikeProviderRegistry.forWorld(world);
+            BlockPos spawn = SpawnFinder.find(provider, generator, 64);
+            EarthlikeProviderRegistry.release(world);
+
+            ChunkTerrainData data = generator.generateTerrainData(spawn.getX() >> 4, spawn.getZ() >> 4);
+            int height = data.getHeight(spawn.getX() & 15, spawn.getZ() & 15);
+            String at = "seed " + seed + " spawn " + spawn;
+            assertTrue(at + " is in " + provider.pickBiome(spawn.getX(), spawn.getZ()),
+                    EarthlikeBiomeProvider.isZoneBiome(provider.pickBiome(spawn.getX(), spawn.getZ())));
+            assertTrue(at + " is below sea level", height >= generator.getSeaLevel());
+            assertNotSame(at + " is in a river", Biomes.RIVER, data.getSurfaceBiome(spawn.getX() & 15, spawn.getZ() & 15));
+            assertEquals(at + " Y", height + 1, spawn.getY());
+        }
+    }
+}
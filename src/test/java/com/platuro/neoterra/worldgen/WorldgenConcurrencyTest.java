@@ -0,0 +1,250 @@
+package com.platuro.neoterra.worldgen;
+
+import com.platuro.neoterra.config.BiomeConfig;
+import com.platuro.neoterra.config.WorldGenSettings;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.ChunkPrimer;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * The thread-safety contract of {@link NeoTerraChunkGenerator} and
+ * {@link EarthlikeBiomeProvider}: one instance queried from many threads at once
+ * answers exactly what a fresh instance answers on a single thread.
+ *
+ * Every thread runs the whole query set in its own order against the same instance,
+ * so threads race on the same regions, blend fields and island cells.
+ */
+public class WorldgenConcurrencyTest {
+
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final int CLUSTER_CHUNKS = 6; // a 6x6 block of neighbours sharing blend fields
+    private static final int SCATTERED_CHUNKS = 16;
+    private static final int BIOME_QUERIES = 400;
+
+    @BeforeClass
+    public static void setUp() {
+        WorldgenTestSupport.init();
+    }
+
+    @Test
+    public void chunkDataMatchesSingleThreaded() throws Exception {
+        for (long seed : WorldgenTestSupport.SEEDS) {
+            World world = WorldgenTestSupport.world(seed);
+            List<int[]> chunks = chunkCoordinates(seed);
+
+            List<ChunkTerrainData> expectedTerrain = new ArrayList<>();
+            List<ChunkPrimerData> expectedData = new ArrayList<>();
+            NeoTerraChunkGenerator reference = new NeoTerraChunkGenerator(world);
+            for (int[] chunk : chunks) {
+                expectedTerrain.add(reference.generateTerrainData(chunk[0], chunk[1]));
+                expectedData.add(reference.generateChunkData(chunk[0], chunk[1]));
+            }
+            // The next generator must not share the reference's provider or caches
+            EarthlikeProviderRegistry.release(world);
+
+            NeoTerraChunkGenerator shared = new NeoTerraChunkGenerator(world);
+            EarthlikeProviderRegistry.release(world);
+            runOnAllThreads(seed, order -> {
+                for (int i : order) {
+                    int[] chunk = chunks.get(i);
+                    // Alternate the entry points, so both run against each other's caches
+                    if ((i & 1) == 0) {
+                        assertSameTerrain(expectedTerrain.get(i), shared.generateTerrainData(chunk[0], chunk[1]));
+                        assertSameData(expectedData.get(i), shared.generateChunkData(chunk[0], chunk[1]));
+                    } else {
+                        assertSameData(expectedData.get(i), shared.generateChunkData(chunk[0], chunk[1]));
+                        assertSameTerrain(expectedTerrain.get(i), shared.generateTerrainData(chunk[0], chunk[1]));
+                    }
+                }
+            }, chunks.size());
+        }
+    }
+
+    @Test
+    public void biomeQueriesMatchSingleThreaded() throws Exception {
+        WorldGenSettings settings = BiomeConfig.getWorldGenSettings();
+        for (long seed : WorldgenTestSupport.SEEDS) {
+            List<BiomeQuery> queries = biomeQueries(seed, settings);
+
+            EarthlikeBiomeProvider reference = new EarthlikeBiomeProvider(seed, settings);
+            List<Biome[]> expected = new ArrayList<>();
+            for (BiomeQuery query : queries) {
+                expected.add(query.run(reference));
+            }
+
+            EarthlikeBiomeProvider shared = new EarthlikeBiomeProvider(seed, settings);
+            runOnAllThreads(seed, order -> {
+                for (int i : order) {
+                    assertArrayEquals(queries.get(i).toString(), expected.get(i), queries.get(i).run(shared));
+                }
+            }, queries.size());
+        }
+    }
+
+    /** A cluster of neighbouring chunks somewhere on the planet, plus chunks scattered up to and past the edges. */
+    private static List<int[]> chunkCoordinates(long seed) {
+        WorldGenSettings settings = BiomeConfig.getWorldGenSettings();
+        int radiusX = (settings.maxWorldWidth >> 4) + 4;
+        int radiusZ = (settings.maxWorldHeight >> 4) + 4;
+        Random random = new Random(seed);
+        List<int[]> chunks = new ArrayList<>();
+
+        int clusterX = random.nextInt(radiusX) - radiusX / 2;
+        int clusterZ = random.nextInt(radiusZ) - radiusZ / 2;
+        for (int dz = 0; dz < CLUSTER_CHUNKS; dz++) {
+            for (int dx = 0; dx < CLUSTER_CHUNKS; dx++) {
+                chunks.add(new int[]{clusterX + dx, clusterZ + dz});
+            }
+        }
+        for (int i = 0; i < SCATTERED_CHUNKS; i++) {
+            chunks.add(new int[]{random.nextInt(radiusX * 2) - radiusX, random.nextInt(radiusZ * 2) - radiusZ});
+        }
+        return chunks;
+    }
+
+    /**
+     * Quart rectangles through getBiomesForGeneration, unaligned block rectangles
+     * through getBiomes, and aligned chunk requests that go through the block cache.
+     */
+    private static List<BiomeQuery> biomeQueries(long seed, WorldGenSettings settings) {
+        int radiusX = settings.maxWorldWidth + 64;
+        int radiusZ = settings.maxWorldHeight + 64;
+        Random random = new Random(seed);
+        List<BiomeQuery> queries = new ArrayList<>();
+        for (int i = 0; i < BIOME_QUERIES; i++) {
+            int x = random.nextInt(radiusX * 2) - radiusX;
+            int z = random.nextInt(radiusZ * 2) - radiusZ;
+            int width = 1 + random.nextInt(40);
+            int depth = 1 + random.nextInt(40);
+            switch (i % 3) {
+                case 0:
+                    queries.add(new BiomeQuery(BiomeQuery.QUARTS, x >> 2, z >> 2, width, depth));
+                    break;
+                case 1:
+                    queries.add(new BiomeQuery(BiomeQuery.BLOCKS, x, z, width, depth));
+                    break;
+                default:
+                    queries.add(new BiomeQuery(BiomeQuery.CHUNK, x & ~15, z & ~15, 16, 16));
+            }
+        }
+        return queries;
+    }
+
+    private static final class BiomeQuery {
+        static final int QUARTS = 0;
+        static final int BLOCKS = 1;
+        static final int CHUNK = 2;
+
+        final int kind;
+        final int x;
+        final int z;
+        final int width;
+        final int depth;
+
+        BiomeQuery(int kind, int x, int z, int width, int depth) {
+            this.kind = kind;
+            this.x = x;
+            this.z = z;
+            this.width = width;
+            this.depth = depth;
+        }
+
+        Biome[] run(EarthlikeBiomeProvider provider) {
+            switch (kind) {
+                case QUARTS: return provider.getBiomesForGeneration(null, x, z, width, depth);
+                case BLOCKS: return provider.getBiomes(null, x, z, width, depth, false);
+                default:     return provider.getBiomes(null, x, z, width, depth, true);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return new String[]{"quarts", "blocks", "chunk"}[kind] + " " + width + "x" + depth + " at (" + x + ", " + z + ")";
+        }
+    }
+
+    private interface OrderedTask {
+        void run(List<Integer> order) throws Exception;
+    }
+
+    /** Runs the task on {@link #THREADS} threads at once, each with its own order of 0..count-1. */
+    private static void runOnAllThreads(long seed, OrderedTask task, int count) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            List<Integer> order = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                order.add(i);
+            }
+            Collections.shuffle(order, new Random(seed * 31 + t));
+            workers.add(() -> {
+                start.await();
+                task.run(order);
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> result : executor.invokeAll(workers)) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof AssertionError) {
+                        throw (AssertionError) e.getCause();
+                    }
+                    throw e;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void assertSameTerrain(ChunkTerrainData expected, ChunkTerrainData actual) {
+        String chunk = "chunk (" + expected.getChunkX() + ", " + expected.getChunkZ() + ")";
+        assertArrayEquals(chunk + " heights", expected.getHeights(), actual.getHeights());
+        assertArrayEquals(chunk + " biomes", expected.getBiomes(), actual.getBiomes());
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                assertSame(chunk + " surface biome", expected.getSurfaceBiome(x, z), actual.getSurfaceBiome(x, z));
+            }
+        }
+    }
+
+    private static void assertSameData(ChunkPrimerData expected, ChunkPrimerData actual) {
+        String chunk = "chunk (" + expected.getChunkX() + ", " + expected.getChunkZ() + ")";
+        assertEquals(chunk, expected.getChunkX(), actual.getChunkX());
+        assertEquals(chunk, expected.getChunkZ(), actual.getChunkZ());
+        assertArrayEquals(chunk + " biome IDs", expected.getBiomeIds(), actual.getBiomeIds());
+        ChunkPrimer expectedPrimer = expected.getPrimer();
+        ChunkPrimer actualPrimer = actual.getPrimer();
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                for (int y = 0; y < 256; y++) {
+                    if (expectedPrimer.getBlockState(x, y, z) != actualPrimer.getBlockState(x, y, z)) {
+                        throw new AssertionError(chunk + " block (" + x + ", " + y + ", " + z + ") differs: expected "
+                                + expectedPrimer.getBlockState(x, y, z) + " but was " + actualPrimer.getBlockState(x, y, z));
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.platuro.neoterra.worldgen;
+
+import com.platuro.neoterra.config.BiomeConfig;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.profiler.Profiler;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.GameType;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProviderSurface;
+import net.minecraft.world.WorldSettings;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.storage.SaveHandlerMP;
+import net.minecraft.world.storage.WorldInfo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Shared setup for the worldgen tests: vanilla bootstrap, a default biome_config.cfg
+ * with the persistent cache off, and a world that exists only for its seed.
+ */
+final class WorldgenTestSupport {
+
+    /** Seeds the worldgen tests run against. */
+    static final long[] SEEDS = { 12345L, -4872364921437L, 0x5DEECE66DL };
+
+    private static boolean initialised;
+
+    private WorldgenTestSupport() {}
+
+    static synchronized void init() {
+        if (initialised) return;
+        Bootstrap.register();
+        try {
+            File configDir = Files.createTempDirectory("neoterra-test").toFile();
+            BiomeConfig.loadConfig(new File(configDir, "biome_config.cfg"));
+            // Every instance must compute what it returns, not read another's files
+            BiomeConfig.PERSISTENT_CACHE = false;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create test config", e);
+        }
+        initialised = true;
+    }
+
+    /** An overworld with the given seed, no chunk provider and no storage. */
+    static World world(long seed) {
+        return new TestWorld(seed);
+    }
+
+    private static final class TestWorld extends World {
+
+        TestWorld(long seed) {
+            super(new SaveHandlerMP(),
+                    new WorldInfo(new WorldSettings(seed, GameType.SURVIVAL, false, false, WorldType.DEFAULT), "neoterra-test"),
+                    new WorldProviderSurface(), new Profiler(), false);
+            this.provider.setWorld(this);
+        }
+
+        @Override
+        protected IChunkProvider createChunkProvider() {
+            return null;
+        }
+
+        @Override
+        protected boolean isChunkLoaded(int x, int z, boolean allowEmpty) {
+            return true;
+        }
+
+        @Override
+        public boolean setBlockState(BlockPos pos, IBlockState newState, int flags) {
+            return true;
+        }
+    }
+}
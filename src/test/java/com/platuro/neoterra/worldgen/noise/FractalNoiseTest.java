@@ -0,0 +1,175 @@
+package com.platuro.neoterra.worldgen.noise;
+
+import net.minecraft.world.gen.NoiseGeneratorPerlin;
+import net.minecraft.world.gen.NoiseGeneratorSimplex;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.platuro.neoterra.worldgen.noise.SimplexNoiseTest.SEEDS;
+import static com.platuro.neoterra.worldgen.noise.SimplexNoiseTest.assertBitsEqual;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link FractalNoise} against what it replaced: the biome provider's fractal loop
+ * over NoiseGeneratorSimplex, and NoiseGeneratorPerlin for the chunk generator's
+ * levels. Point, octave-by-octave and grid evaluation must all agree exactly.
+ */
+public class FractalNoiseTest {
+
+    // Octaves, persistence, scale, lacunarity of the biome provider's fields
+    private static final double[][] PROVIDER_FIELDS = {
+            { 5, 0.5, 0.0002, 2.0 },
+            { 2, 0.5, 0.01, 2.0 },
+            { 4, 0.5, 0.00035, 2.0 },
+            { 1, 1.0, 0.0006, 1.0 },
+            { 3, 0.5, 0.0004, 2.0 },
+            { 4, 0.6, 0.002, 3.0 },
+            { 2, 0.6, 0.0008, 2.5 },
+            { 3, 0.7, 0.001, 2.5 },
+    };
+
+    // Levels and input scale of the chunk generator's perlin noises
+    private static final double[][] GENERATOR_FIELDS = {
+            { 3, 0.002 },
+            { 3, 0.001 },
+            { 2, 1.0 },
+    };
+
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    public void normalisedValueMatchesVanillaFractal() {
+        for (long seed : SEEDS) {
+            SimplexNoise noise = new SimplexNoise(new Random(seed));
+            NoiseGeneratorSimplex vanilla = new NoiseGeneratorSimplex(new Random(seed));
+            Random sampler = new Random(seed);
+            for (double[] field : PROVIDER_FIELDS) {
+                int octaves = (int) field[0];
+                FractalNoise fractal = new FractalNoise(noise, octaves, field[1], field[2], field[3]);
+                for (int i = 0; i < SAMPLES; i++) {
+                    double x = SimplexNoiseTest.coordinate(sampler, i);
+                    double z = SimplexNoiseTest.coordinate(sampler, i >> 2);
+                    double expected = vanillaFractal(vanilla, x, z, octaves, field[1], field[2], field[3]);
+                    assertBitsEqual("seed " + seed + " field " + octaves + "/" + field[2] + " at (" + x + ", " + z + ")",
+                            expected, fractal.getValue(x, z));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void perlinMatchesVanillaPerlin() {
+        for (long seed : SEEDS) {
+            for (double[] field : GENERATOR_FIELDS) {
+                int levels = (int) field[0];
+                double scale = field[1];
+                Random ours = new Random(seed);
+                Random theirs = new Random(seed);
+                FractalNoise perlin = FractalNoise.perlin(FractalNoise.levels(ours, levels), scale);
+                NoiseGeneratorPerlin vanilla = new NoiseGeneratorPerlin(theirs, levels);
+                // The generator draws its next noise, and populate its seeds, from the same Random
+                assertEquals("seed " + seed + " after " + levels + " levels", theirs.nextLong(), ours.nextLong());
+
+                Random sampler = new Random(seed);
+                for (int i = 0; i < SAMPLES; i++) {
+                    double x = sampler.nextInt(60001) - 30000;
+                    double z = sampler.nextInt(60001) - 30000;
+                    assertBitsEqual("seed " + seed + " perlin " + levels + "/" + scale + " at (" + x + ", " + z + ")",
+                            vanilla.getValue(x * scale, z * scale), perlin.getValue(x, z));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void octavesSumToValue() {
+        for (long seed : SEEDS) {
+            SimplexNoise noise = new SimplexNoise(new Random(seed));
+            Random sampler = new Random(seed);
+            for (double[] field : PROVIDER_FIELDS) {
+                FractalNoise fractal = new FractalNoise(noise, (int) field[0], field[1], field[2], field[3]);
+                for (int i = 0; i < SAMPLES / 10; i++) {
+                    double x = SimplexNoiseTest.coordinate(sampler, i);
+                    double z = SimplexNoiseTest.coordinate(sampler, i >> 2);
+                    double sum = 0.0;
+                    for (int octave = 0; octave < fractal.getOctaves(); octave++) {
+                        sum += fractal.getOctave(octave, x, z);
+                    }
+                    assertBitsEqual("seed " + seed + " at (" + x + ", " + z + ")", fractal.getValue(x, z), fractal.normalise(sum));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void fillGridMatchesPointValues() {
+        for (long seed : SEEDS) {
+            SimplexNoise noise = new SimplexNoise(new Random(seed));
+            NoiseGeneratorSimplex vanilla = new NoiseGeneratorSimplex(new Random(seed));
+            FractalNoise[] fields = new FractalNoise[PROVIDER_FIELDS.length + GENERATOR_FIELDS.length];
+            for (int f = 0; f < PROVIDER_FIELDS.length; f++) {
+                double[] field = PROVIDER_FIELDS[f];
+                fields[f] = new FractalNoise(noise, (int) field[0], field[1], field[2], field[3]);
+            }
+            for (int f = 0; f < GENERATOR_FIELDS.length; f++) {
+                double[] field = GENERATOR_FIELDS[f];
+                fields[PROVIDER_FIELDS.length + f] = FractalNoise.perlin(FractalNoise.levels(new Random(seed), (int) field[0]), field[1]);
+            }
+
+            Random sampler = new Random(seed);
+            for (int grid = 0; grid < 40; grid++) {
+                int x0 = sampler.nextInt(40000) - 20000;
+                int z0 = sampler.nextInt(40000) - 20000;
+                int width = 1 + sampler.nextInt(48);
+                int depth = 1 + sampler.nextInt(48);
+                int step = 1 << sampler.nextInt(3);
+                boolean[] mask = new boolean[width * depth];
+                for (int i = 0; i < mask.length; i++) {
+                    mask[i] = sampler.nextBoolean();
+                }
+
+                for (int f = 0; f < fields.length; f++) {
+                    FractalNoise fractal = fields[f];
+                    double[] full = new double[width * depth];
+                    double[] masked = new double[width * depth];
+                    Arrays.fill(masked, Double.NaN);
+                    fractal.fillGrid(full, x0, z0, width, depth, step);
+                    fractal.fillGrid(masked, x0, z0, width, depth, step, mask);
+
+                    for (int i = 0; i < full.length; i++) {
+                        double x = x0 + (i % width) * step;
+                        double z = z0 + (i / width) * step;
+                        double expected = fractal.getValue(x, z);
+                        String at = "seed " + seed + " field " + f + " grid " + grid + " at (" + x + ", " + z + ")";
+                        assertBitsEqual(at, expected, full[i]);
+                        assertBitsEqual(at + " (masked)", mask[i] ? expected : Double.NaN, masked[i]);
+                        if (f < PROVIDER_FIELDS.length) {
+                            double[] field = PROVIDER_FIELDS[f];
+                            assertBitsEqual(at + " (vanilla)",
+                                    vanillaFractal(vanilla, x, z, (int) field[0], field[1], field[2], field[3]), full[i]);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /** The biome provider's fractal loop as it was before FractalNoise, over vanilla's generator. */
+    private static double vanillaFractal(NoiseGeneratorSimplex gen, double x, double z,
+                                         int octaves, double persistence, double scale, double lacunarity) {
+        double sum = 0.0;
+        double max = 0.0;
+        double amp = 1.0;
+        double freq = scale;
+        for (int i = 0; i < octaves; i++) {
+            double noiseVal = gen.getValue(x * freq, z * freq);
+            sum += noiseVal * amp;
+            max += amp;
+            amp  *= persistence;
+            freq *= lacunarity;
+        }
+        return sum / max;
+    }
+}
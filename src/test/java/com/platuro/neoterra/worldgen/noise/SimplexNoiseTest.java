@@ -0,0 +1,109 @@
+package com.platuro.neoterra.worldgen.noise;
+
+import net.minecraft.world.gen.NoiseGeneratorSimplex;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link SimplexNoise} must stay bit-for-bit identical to vanilla's
+ * NoiseGeneratorSimplex, seed consumption included: existing worlds keep their
+ * terrain only as long as it does.
+ */
+public class SimplexNoiseTest {
+
+    static final long[] SEEDS = { 0L, 1L, 12345L, -4872364921437L, 0x5DEECE66DL, Long.MIN_VALUE };
+
+    private static final int SAMPLES = 1_000_000;
+
+    @Test
+    public void getValueMatchesVanilla() {
+        for (long seed : SEEDS) {
+            SimplexNoise noise = new SimplexNoise(new Random(seed));
+            NoiseGeneratorSimplex vanilla = new NoiseGeneratorSimplex(new Random(seed));
+            Random sampler = new Random(seed ^ 0x9E3779B97F4A7C15L);
+            for (int i = 0; i < SAMPLES; i++) {
+                double x = coordinate(sampler, i);
+                double z = coordinate(sampler, i >> 2);
+                assertBitsEqual("seed " + seed + " at (" + x + ", " + z + ")", vanilla.getValue(x, z), noise.getValue(x, z));
+            }
+        }
+    }
+
+    @Test
+    public void consumesTheSeedLikeVanilla() {
+        for (long seed : SEEDS) {
+            Random ours = new Random(seed);
+            Random theirs = new Random(seed);
+            for (int i = 0; i < 4; i++) {
+                new SimplexNoise(ours);
+                new NoiseGeneratorSimplex(theirs);
+                assertEquals("seed " + seed + " after " + (i + 1) + " generators", theirs.nextLong(), ours.nextLong());
+            }
+        }
+    }
+
+    @Test
+    public void addRowMatchesGetValue() {
+        for (long seed : SEEDS) {
+            SimplexNoise noise = new SimplexNoise(new Random(seed));
+            NoiseGeneratorSimplex vanilla = new NoiseGeneratorSimplex(new Random(seed));
+            Random sampler = new Random(seed);
+            for (int row = 0; row < 200; row++) {
+                int x0 = sampler.nextInt(40000) - 20000;
+                int step = 1 << sampler.nextInt(3);
+                double freq = 0.0002 * (1 << sampler.nextInt(6));
+                double zf = (sampler.nextInt(40000) - 20000) * freq;
+                double amp = 1.0 / (1 << sampler.nextInt(4));
+                int offset = sampler.nextInt(8);
+                int count = 1 + sampler.nextInt(64);
+
+                double[] base = new double[offset + count];
+                boolean[] mask = new boolean[offset + count];
+                for (int i = 0; i < base.length; i++) {
+                    base[i] = sampler.nextDouble();
+                    mask[i] = sampler.nextBoolean();
+                }
+                double[] unmasked = base.clone();
+                double[] masked = base.clone();
+                noise.addRow(unmasked, offset, count, x0, step, freq, zf, amp, null);
+                noise.addRow(masked, offset, count, x0, step, freq, zf, amp, mask);
+
+                for (int i = 0; i < base.length; i++) {
+                    String at = "seed " + seed + " row " + row + " cell " + i;
+                    if (i < offset) {
+                        assertBitsEqual(at, base[i], unmasked[i]);
+                        assertBitsEqual(at, base[i], masked[i]);
+                        continue;
+                    }
+                    double expected = base[i] + vanilla.getValue((double) (x0 + (i - offset) * step) * freq, zf) * amp;
+                    assertBitsEqual(at, expected, unmasked[i]);
+                    assertBitsEqual(at + " (masked)", mask[i] ? expected : base[i], masked[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Coordinates of every kind the generators see: world-scale ones, values near
+     * zero, exact integers and halves (the floor quirk and the x0 == y0 tie), and
+     * large magnitudes.
+     */
+    static double coordinate(Random sampler, int i) {
+        switch (i & 7) {
+            case 0:  return (sampler.nextInt(2000) - 1000) * 0.5;
+            case 1:  return sampler.nextInt(200001) - 100000;
+            case 2:  return (sampler.nextDouble() - 0.5) * 8.0;
+            case 3:  return (sampler.nextDouble() - 0.5) * 2.0e7;
+            default: return (sampler.nextDouble() - 0.5) * 2.0e4;
+        }
+    }
+
+    static void assertBitsEqual(String message, double expected, double actual) {
+        if (Double.doubleToRawLongBits(expected) != Double.doubleToRawLongBits(actual)) {
+            throw new AssertionError(message + ": expected " + expected + " but was " + actual);
+        }
+    }
+}